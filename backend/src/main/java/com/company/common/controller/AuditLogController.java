@@ -0,0 +1,30 @@
+package com.company.common.controller;
+
+import com.company.common.dto.CursorPage;
+import com.company.common.entity.AuditLog;
+import com.company.common.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@RequiredArgsConstructor
+@Tag(name = "Audit Logs", description = "APIs for browsing audit logs")
+public class AuditLogController {
+    
+    private final AuditLogService auditLogService;
+    
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get audit logs", description = "Browse audit logs newest first, continuing from an opaque cursor")
+    public ResponseEntity<CursorPage<AuditLog>> getAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer size) {
+        return ResponseEntity.ok(auditLogService.getAuditLogs(entityType, cursor, size));
+    }
+}
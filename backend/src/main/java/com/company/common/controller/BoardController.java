@@ -1,11 +1,13 @@
 package com.company.common.controller;
 
+import com.company.common.dto.CursorPage;
 import com.company.common.dto.board.*;
 import com.company.common.service.BoardService;
 import com.company.common.util.Auditable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -81,19 +83,52 @@ public class BoardController {
             @PathVariable Long boardId,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Posts with any of these tags") @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Posts with all of these tags") @RequestParam(required = false) List<String> allTags,
+            @Parameter(description = "Posts with none of these tags") @RequestParam(required = false) List<String> excludeTags,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<PostDto> posts = boardService.getPostsByBoard(boardId, keyword, category, tags, pageable);
+        Page<PostDto> posts = boardService.getPostsByBoard(boardId, keyword, category, tags, allTags, excludeTags, pageable);
         return ResponseEntity.ok(posts);
     }
     
+    @GetMapping("/{boardId}/posts/autocomplete")
+    @Operation(summary = "Autocomplete post titles",
+               description = "Titles of the board's posts starting with the typed prefix, most popular first")
+    public ResponseEntity<List<TitleSuggestionDto>> autocompleteTitles(
+            @PathVariable Long boardId,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(boardService.getTitleSuggestions(boardId, prefix, limit));
+    }
+    
+    @GetMapping("/{boardId}/tags")
+    @Operation(summary = "Get board tags", description = "Tags used by the board's posts with their post counts")
+    public ResponseEntity<List<TagCountDto>> getBoardTags(
+            @PathVariable Long boardId,
+            @RequestParam(defaultValue = "50") Integer limit) {
+        return ResponseEntity.ok(boardService.getBoardTags(boardId, limit));
+    }
+    
+    @GetMapping("/{boardId}/posts/cursor")
+    @Operation(summary = "Get posts by board by cursor",
+               description = "Retrieve posts for a board newest first, continuing from an opaque cursor")
+    public ResponseEntity<CursorPage<PostDto>> getPostsByBoardCursor(
+            @PathVariable Long boardId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(boardService.getPostsByBoard(boardId, category, cursor, size));
+    }
+    
     @GetMapping("/posts/{postId}")
     @Operation(summary = "Get post by ID", description = "Retrieve post details by ID")
     public ResponseEntity<PostDto> getPostById(
             @PathVariable Long postId,
-            @RequestParam(required = false) String secretPassword) {
+            @RequestParam(required = false) String secretPassword,
+            @Parameter(hidden = true) @RequestAttribute(value = "userId", required = false) Long userId,
+            HttpServletRequest httpRequest) {
         PostDto post = boardService.getPostById(postId, secretPassword);
-        boardService.incrementViewCount(postId);
+        boardService.recordView(postId, userId, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(post);
     }
     
@@ -131,15 +166,33 @@ public class BoardController {
         return ResponseEntity.noContent().build();
     }
     
+    @GetMapping("/posts/{postId}/revisions")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get post revisions", description = "Edit history of a post, newest first (author or admin)")
+    public ResponseEntity<List<PostRevisionDto>> getPostRevisions(
+            @PathVariable Long postId,
+            @Parameter(hidden = true) @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(boardService.getPostRevisions(postId, userId));
+    }
+    
+    @GetMapping("/posts/{postId}/revisions/{revisionNumber}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get post revision", description = "Title and content of a post as of one of its revisions (author or admin)")
+    public ResponseEntity<PostRevisionDto> getPostRevision(
+            @PathVariable Long postId,
+            @PathVariable Integer revisionNumber,
+            @Parameter(hidden = true) @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(boardService.getPostRevision(postId, revisionNumber, userId));
+    }
+    
     @PostMapping("/posts/{postId}/like")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Like/Unlike post", description = "Toggle like status for a post")
     public ResponseEntity<Map<String, Object>> togglePostLike(
             @PathVariable Long postId,
             @Parameter(hidden = true) @RequestAttribute("userId") Long userId) {
-        boolean liked = boardService.togglePostLike(postId, userId);
-        Long likeCount = boardService.getPostLikeCount(postId);
-        return ResponseEntity.ok(Map.of("liked", liked, "likeCount", likeCount));
+        LikeStatusDto status = boardService.togglePostLike(postId, userId);
+        return ResponseEntity.ok(Map.of("liked", status.isLiked(), "likeCount", status.getLikeCount()));
     }
     
     // Comment APIs
@@ -152,6 +205,27 @@ public class BoardController {
         return ResponseEntity.ok(comments);
     }
     
+    @GetMapping("/posts/{postId}/comments/threads")
+    @Operation(summary = "Get comment threads by cursor",
+               description = "Retrieve a page of top-level comments with their first replies, continuing from an opaque cursor")
+    public ResponseEntity<CursorPage<CommentDto>> getCommentThreads(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "10") Integer replies,
+            @RequestParam(defaultValue = "false") Boolean includeDeleted) {
+        return ResponseEntity.ok(boardService.getCommentThreads(postId, cursor, size, replies, includeDeleted));
+    }
+    
+    @GetMapping("/comments/{commentId}/replies")
+    @Operation(summary = "Get more replies", description = "Retrieve further replies of a comment thread by cursor")
+    public ResponseEntity<CursorPage<CommentDto>> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(boardService.getReplies(commentId, cursor, size));
+    }
+    
     @PostMapping("/comments")
     @PreAuthorize("isAuthenticated()")
     @Auditable(action = "CREATE_COMMENT")
@@ -192,9 +266,8 @@ public class BoardController {
     public ResponseEntity<Map<String, Object>> toggleCommentLike(
             @PathVariable Long commentId,
             @Parameter(hidden = true) @RequestAttribute("userId") Long userId) {
-        boolean liked = boardService.toggleCommentLike(commentId, userId);
-        Long likeCount = boardService.getCommentLikeCount(commentId);
-        return ResponseEntity.ok(Map.of("liked", liked, "likeCount", likeCount));
+        LikeStatusDto status = boardService.toggleCommentLike(commentId, userId);
+        return ResponseEntity.ok(Map.of("liked", status.isLiked(), "likeCount", status.getLikeCount()));
     }
     
     // Search APIs
@@ -211,6 +284,15 @@ public class BoardController {
         return ResponseEntity.ok(posts);
     }
     
+    @GetMapping("/search/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get search cache statistics",
+               description = "Hit ratios of the search result cache per query, most requested first (Admin only)")
+    public ResponseEntity<List<SearchQueryStatsDto>> getSearchCacheStats(
+            @RequestParam(defaultValue = "50") Integer limit) {
+        return ResponseEntity.ok(boardService.getSearchCacheStats(limit));
+    }
+    
     @GetMapping("/popular")
     @Operation(summary = "Get popular posts", description = "Retrieve popular posts based on views and likes")
     public ResponseEntity<List<PostDto>> getPopularPosts(
@@ -220,6 +302,12 @@ public class BoardController {
         return ResponseEntity.ok(posts);
     }
     
+    @GetMapping("/notices")
+    @Operation(summary = "Get active notices", description = "Retrieve notices whose display window includes now")
+    public ResponseEntity<List<PostDto>> getActiveNotices() {
+        return ResponseEntity.ok(boardService.getActiveNotices());
+    }
+    
     @GetMapping("/recent-comments")
     @Operation(summary = "Get recent comments", description = "Retrieve recently added comments")
     public ResponseEntity<List<CommentDto>> getRecentComments(
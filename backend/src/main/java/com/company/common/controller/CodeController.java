@@ -5,6 +5,7 @@ import com.company.common.dto.code.CodeGroupDto;
 import com.company.common.dto.code.CodeGroupRequest;
 import com.company.common.dto.code.CodeItemDto;
 import com.company.common.dto.code.CodeItemRequest;
+import com.company.common.dto.code.CodeSuggestionDto;
 import com.company.common.service.CodeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -34,6 +35,16 @@ public class CodeController {
         return ResponseEntity.ok(ApiResponse.success(groups));
     }
     
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete code items", description = "Ranked code item suggestions served from the in-memory index")
+    public ResponseEntity<ApiResponse<List<CodeSuggestionDto>>> autocompleteCodeItems(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        List<CodeSuggestionDto> suggestions = codeService.autocompleteCodeItems(keyword, groupId, Math.min(limit, 100));
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+    
     @GetMapping("/groups/{groupId}")
     @Operation(summary = "Get code group", description = "Get code group by ID")
     public ResponseEntity<ApiResponse<CodeGroupDto>> getCodeGroup(@PathVariable String groupId) {
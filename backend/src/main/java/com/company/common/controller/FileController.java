@@ -6,6 +6,7 @@ import com.company.common.service.FileService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -16,8 +17,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -29,19 +30,23 @@ public class FileController {
     
     private final FileService fileService;
     
-    @PostMapping("/upload")
-    @Operation(summary = "Upload file", description = "Upload a new file")
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload file",
+               description = "Upload a new file as the \"file\" part of a multipart/form-data body; " +
+                             "description and expirationDays may be query parameters or form fields")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<FileDto>> uploadFile(
-            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request,
             @RequestParam(value = "description", required = false) String description,
             @RequestParam(value = "expirationDays", required = false) Integer expirationDays,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
         
         // In production, get user ID from userDetails
         Long userId = 1L; // Placeholder
         
-        FileDto fileDto = fileService.uploadFile(file, userId, description, expirationDays);
+        // The body is parsed as it streams in (multipart resolution is disabled)
+        FileDto fileDto = fileService.uploadFile(request.getContentType(), request.getInputStream(),
+                userId, description, expirationDays);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(fileDto, "File uploaded successfully"));
     }
@@ -78,6 +78,16 @@ public class MenuController {
         return ResponseEntity.ok(ApiResponse.success("Menu deleted successfully"));
     }
     
+    @PutMapping("/reorder")
+    @Operation(summary = "Reorder menus", description = "Reorder sibling menus under a parent (root when parentId is omitted)")
+    @PreAuthorize("hasAuthority('UPDATE')")
+    public ResponseEntity<ApiResponse<String>> reorderMenus(
+            @RequestParam(required = false) Long parentId,
+            @RequestBody List<Long> menuIds) {
+        menuService.reorderMenus(parentId, menuIds);
+        return ResponseEntity.ok(ApiResponse.success("Menus reordered successfully"));
+    }
+    
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get user menus", description = "Get user-specific menu tree")
     @PreAuthorize("hasAuthority('VIEW') or #userId == authentication.principal.id")
@@ -1,5 +1,6 @@
 package com.company.common.controller;
 
+import com.company.common.dto.CursorPage;
 import com.company.common.dto.notification.NotificationDto;
 import com.company.common.dto.notification.NotificationRequest;
 import com.company.common.service.NotificationService;
@@ -84,6 +85,23 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
     
+    @GetMapping("/users/{userId}/cursor")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get user notifications by cursor",
+               description = "Get a user's notifications newest first, continuing from an opaque cursor")
+    public ResponseEntity<CursorPage<NotificationDto>> getUserNotificationsByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(hidden = true) @RequestAttribute("userId") Long requesterId) {
+        
+        if (!userId.equals(requesterId) && !isAdmin(requesterId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        return ResponseEntity.ok(notificationService.getUserNotifications(userId, cursor, size));
+    }
+    
     @GetMapping("/{notificationId}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get notification", description = "Get a specific notification by ID")
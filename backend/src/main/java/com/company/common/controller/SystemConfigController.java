@@ -1,5 +1,6 @@
 package com.company.common.controller;
 
+import com.company.common.dto.ConfigImportResultDto;
 import com.company.common.dto.SystemConfigDto;
 import com.company.common.entity.SystemConfig;
 import com.company.common.service.SystemConfigService;
@@ -8,11 +9,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +28,8 @@ import java.util.Map;
 @Tag(name = "System Configuration", description = "APIs for managing system configuration")
 public class SystemConfigController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final SystemConfigService systemConfigService;
     
     @GetMapping
@@ -146,14 +154,37 @@ public class SystemConfigController {
         return ResponseEntity.ok(export);
     }
     
+    @GetMapping(value = "/export/ndjson", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export configurations as NDJSON", description = "Stream configurations as newline-delimited JSON (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportConfigurationsNdjson(
+            @RequestParam(required = false) String category) {
+        StreamingResponseBody body = out -> systemConfigService.exportConfigurationsNdjson(category, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"system-configs.ndjson\"")
+                .body(body);
+    }
+    
     @PostMapping("/import")
     @PreAuthorize("hasRole('ADMIN')")
     @Auditable(action = "IMPORT_CONFIGS")
     @Operation(summary = "Import configurations", description = "Import configurations from JSON (Admin only)")
-    public ResponseEntity<Map<String, Object>> importConfigurations(
+    public ResponseEntity<ConfigImportResultDto> importConfigurations(
             @RequestBody Map<String, Object> configurations,
             @RequestParam(defaultValue = "false") Boolean overwrite) {
-        Map<String, Object> result = systemConfigService.importConfigurations(configurations, overwrite);
+        ConfigImportResultDto result = systemConfigService.importConfigurations(configurations, overwrite);
+        return ResponseEntity.ok(result);
+    }
+    
+    @PostMapping(value = "/import/ndjson", consumes = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Auditable(action = "IMPORT_CONFIGS")
+    @Operation(summary = "Import configurations from NDJSON", description = "Import configurations from newline-delimited JSON (Admin only)")
+    public ResponseEntity<ConfigImportResultDto> importConfigurationsNdjson(
+            InputStream body,
+            @RequestParam(defaultValue = "false") Boolean overwrite) throws IOException {
+        ConfigImportResultDto result = systemConfigService.importConfigurationsNdjson(body, overwrite);
         return ResponseEntity.ok(result);
     }
     
@@ -0,0 +1,61 @@
+package com.company.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigImportResultDto {
+    
+    private int imported;
+    
+    private int inserted;
+    
+    private int updated;
+    
+    private int unchanged;
+    
+    private int skipped;
+    
+    private int failed;
+    
+    @Builder.Default
+    private List<KeyOutcome> outcomes = new ArrayList<>();
+    
+    public void add(String configKey, Status status, String message) {
+        outcomes.add(new KeyOutcome(configKey, status, message));
+        switch (status) {
+            case INSERTED -> {
+                inserted++;
+                imported++;
+            }
+            case UPDATED -> {
+                updated++;
+                imported++;
+            }
+            case UNCHANGED -> unchanged++;
+            case SKIPPED -> skipped++;
+            case FAILED -> failed++;
+        }
+    }
+    
+    public enum Status {
+        INSERTED, UPDATED, UNCHANGED, SKIPPED, FAILED
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class KeyOutcome {
+        private String configKey;
+        private Status status;
+        private String message;
+    }
+}
\ No newline at end of file
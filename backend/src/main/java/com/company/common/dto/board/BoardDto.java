@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -29,6 +30,9 @@ public class BoardDto {
     private Boolean isActive;
     private Boolean isPublic;
     private Integer sortOrder;
+    private Long postCount;
+    // Published posts per category; posts without a category are not counted here
+    private Map<String, Long> categoryCounts;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
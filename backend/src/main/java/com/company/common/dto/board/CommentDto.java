@@ -25,4 +25,7 @@ public class CommentDto {
     private Boolean isDeleted;
     private LocalDateTime createdAt;
     private List<CommentDto> children;
+    // Set on top-level comments of a thread page whose replies were cut off
+    private Boolean hasMoreReplies;
+    private String repliesCursor;
 }
\ No newline at end of file
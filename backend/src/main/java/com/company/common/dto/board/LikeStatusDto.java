@@ -0,0 +1,16 @@
+package com.company.common.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeStatusDto {
+    
+    private boolean liked;
+    private long likeCount;
+}
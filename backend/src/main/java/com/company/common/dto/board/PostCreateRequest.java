@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -30,6 +31,12 @@ public class PostCreateRequest {
     
     private Boolean isPinned = false;
     
+    private Boolean isNotice; // Administrators only
+    
+    private LocalDateTime noticeStartDate;
+    
+    private LocalDateTime noticeEndDate;
+    
     private Boolean isSecret = false;
     
     private String secretPassword; // For secret posts
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Set;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostDto {
@@ -24,8 +24,10 @@ public class PostDto {
     private String content;
     private String category;
     private Long viewCount;
+    private Long uniqueViewCount;
     private Long likeCount;
     private Long commentCount;
+    private Integer attachmentCount;
     private List<String> tags;
     private Boolean isNotice;
     private Boolean isPinned;
@@ -0,0 +1,25 @@
+package com.company.common.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostRevisionDto {
+    
+    private Long postId;
+    private Integer revisionNumber;
+    private String title;
+    private Long editorId;
+    private String editorName;
+    private Integer contentLength;
+    private LocalDateTime createdAt;
+    // Only set when a single revision is fetched
+    private String content;
+}
\ No newline at end of file
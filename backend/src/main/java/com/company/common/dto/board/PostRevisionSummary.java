@@ -0,0 +1,27 @@
+package com.company.common.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revision columns without the stored content or delta, selected by projection for the revision
+ * list. The constructor order is the select order of {@code PostRevisionRepository.findSummariesByPostId}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostRevisionSummary {
+    
+    private Integer revisionNumber;
+    private String title;
+    private Long editorId;
+    private String editorFirstName;
+    private String editorLastName;
+    private Integer contentLength;
+    private LocalDateTime createdAt;
+}
\ No newline at end of file
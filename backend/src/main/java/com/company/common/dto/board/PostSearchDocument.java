@@ -0,0 +1,39 @@
+package com.company.common.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Searchable fields of a published post, loaded by projection when the search index is built.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchDocument {
+    
+    private Long id;
+    private Long boardId;
+    private String category;
+    private LocalDateTime createdAt;
+    private String title;
+    private String content;
+    private String authorName;
+    private List<String> tags;
+    
+    public PostSearchDocument(Long id, Long boardId, String category, LocalDateTime createdAt,
+                              String title, String content, String authorName) {
+        this.id = id;
+        this.boardId = boardId;
+        this.category = category;
+        this.createdAt = createdAt;
+        this.title = title;
+        this.content = content;
+        this.authorName = authorName;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.company.common.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List columns of a post, selected by projection so list pages never read the TEXT
+ * {@code content} and {@code metadata} columns or initialize the author and board proxies.
+ * The constructor order is the select order of {@code PostRepository.SUMMARY_SELECT}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummary {
+    
+    private Long id;
+    private Long boardId;
+    private Long authorId;
+    private String authorFirstName;
+    private String authorLastName;
+    private String title;
+    private String category;
+    private Long viewCount;
+    private Long uniqueViewCount;
+    private Long likeCount;
+    private Long commentCount;
+    private Integer attachmentCount;
+    private Boolean isNotice;
+    private Boolean isPinned;
+    private Boolean isSecret;
+    private String postType;
+    private Boolean allowComments;
+    private Boolean isAnonymous;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -26,6 +27,12 @@ public class PostUpdateRequest {
     
     private Boolean isPinned;
     
+    private Boolean isNotice; // Administrators only
+    
+    private LocalDateTime noticeStartDate;
+    
+    private LocalDateTime noticeEndDate;
+    
     private Boolean isSecret;
     
     private String secretPassword;
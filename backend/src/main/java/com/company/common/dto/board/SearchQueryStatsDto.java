@@ -0,0 +1,18 @@
+package com.company.common.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchQueryStatsDto {
+    
+    private String query;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+}
@@ -0,0 +1,19 @@
+package com.company.common.dto.code;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSuggestionDto {
+    
+    private Long id;
+    private String groupCode;
+    private String code;
+    private String codeLabel;
+    private String codeLabelEn;
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.company.common.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -57,6 +58,14 @@ public class Board extends BaseEntity {
     @Column(name = "sort_order")
     private Integer sortOrder = 0;
     
+    /**
+     * Published posts of the board. Maintained in SQL by
+     * {@link com.company.common.service.ContentCounterService}, never written from the entity.
+     */
+    @ColumnDefault("0")
+    @Column(name = "post_count", nullable = false, insertable = false, updatable = false)
+    private Long postCount = 0L;
+    
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Post> posts = new ArrayList<>();
     
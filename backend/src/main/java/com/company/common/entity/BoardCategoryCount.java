@@ -0,0 +1,41 @@
+package com.company.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Number of published posts per board and category (the board's category facets).
+ * Rows are maintained with plain SQL by {@link com.company.common.service.ContentCounterService}.
+ */
+@Entity
+@Table(name = "board_category_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardCategoryCount {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(name = "post_count", nullable = false)
+    private Long postCount;
+    
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        
+        @Column(name = "board_id", nullable = false)
+        private Long boardId;
+        
+        @Column(name = "category", nullable = false)
+        private String category;
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a committed change to cached data. Other nodes poll this table
+ * by id to invalidate their local caches and in-memory snapshots.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_created_at", columnList = "created_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLog {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 30)
+    private ChangeScope scope;
+    
+    /**
+     * Key of the changed entry within the scope, or {@code null} when the whole scope changed.
+     */
+    @Column(name = "entity_key")
+    private String entityKey;
+    
+    @Column(name = "origin_node", nullable = false, length = 64)
+    private String originNode;
+    
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public enum ChangeScope {
+        CONFIG(true, "systemConfigs"),
+        CODE_GROUP(false, "codeGroups", "codeItems"),
+        CODE_ITEM(false, "codeItems"),
+        MENU(false, "menuTree", "userMenuTree"),
+        POST(false);
+        
+        private final boolean keyedCache;
+        private final String[] cacheNames;
+        
+        ChangeScope(boolean keyedCache, String... cacheNames) {
+            this.keyedCache = keyedCache;
+            this.cacheNames = cacheNames;
+        }
+        
+        /**
+         * Whether cache entries are keyed by {@code entityKey}, so a single change can be
+         * evicted precisely instead of clearing the whole cache.
+         */
+        public boolean isKeyedCache() {
+            return keyedCache;
+        }
+        
+        public String[] getCacheNames() {
+            return cacheNames;
+        }
+    }
+}
\ No newline at end of file
@@ -30,6 +30,10 @@ public class Comment extends BaseEntity {
     @JoinColumn(name = "parent_id")
     private Comment parent;
     
+    // Top-level comment of the thread; null for top-level comments themselves
+    @Column(name = "root_id")
+    private Long rootId;
+    
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("createdAt ASC")
     private List<Comment> children = new ArrayList<>();
@@ -0,0 +1,70 @@
+package com.company.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One user's like of a post or comment. The composite key is the whole row apart from the
+ * timestamp, so a like costs one narrow index entry and a repeated like is a key conflict.
+ * Rows are written by {@link com.company.common.service.LikeService} with plain SQL.
+ */
+@Entity
+@Table(name = "content_likes", indexes = {
+    @Index(name = "idx_content_likes_user", columnList = "user_id, target_type")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentLike {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        
+        @Enumerated(EnumType.ORDINAL)
+        @Column(name = "target_type", nullable = false)
+        private TargetType targetType;
+        
+        @Column(name = "target_id", nullable = false)
+        private Long targetId;
+        
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+    }
+    
+    /**
+     * Stored by ordinal; append new constants, never reorder.
+     */
+    public enum TargetType {
+        POST("posts"),
+        COMMENT("comments");
+        
+        private final String tableName;
+        
+        TargetType(String tableName) {
+            this.tableName = tableName;
+        }
+        
+        /**
+         * Table holding the target rows and their {@code like_count} column.
+         */
+        public String getTableName() {
+            return tableName;
+        }
+    }
+}
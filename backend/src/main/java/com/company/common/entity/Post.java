@@ -2,6 +2,7 @@ package com.company.common.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -29,6 +30,8 @@ public class Post extends BaseEntity {
     @Column(nullable = false)
     private String title;
     
+    // Lazy (with bytecode enhancement) so entities loaded for other reasons skip the body
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
     
@@ -37,12 +40,30 @@ public class Post extends BaseEntity {
     @Column(name = "view_count")
     private Long viewCount = 0L;
     
+    /**
+     * Estimated number of distinct viewers, maintained from {@link PostViewSketch}.
+     */
+    @Column(name = "unique_view_count")
+    private Long uniqueViewCount = 0L;
+    
     @Column(name = "like_count")
     private Long likeCount = 0L;
     
     @Column(name = "dislike_count")
     private Long dislikeCount = 0L;
     
+    /**
+     * Comments of the post, soft-deleted ones included. Maintained in SQL by
+     * {@link com.company.common.service.ContentCounterService}, never written from the entity.
+     */
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private Long commentCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "attachment_count", nullable = false)
+    private Integer attachmentCount = 0;
+    
     @Column(name = "is_notice")
     private Boolean isNotice = false;
     
@@ -61,9 +82,10 @@ public class Post extends BaseEntity {
     @Column(name = "notice_end_date")
     private LocalDateTime noticeEndDate;
     
+    // Canonical tag storage (normalized by PostTagIndex.normalize); post_tags doubles as the inverted index
     @ElementCollection
     @CollectionTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"))
-    @Column(name = "tag")
+    @Column(name = "tag", nullable = false, length = 50)
     private Set<String> tags = new HashSet<>();
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -91,11 +113,10 @@ public class Post extends BaseEntity {
     @Column(name = "parent_post_id")
     private Long parentPostId;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String metadata;
     
-    private String tags;
-    
     @Column(name = "sort_order")
     private Integer sortOrder = 0;
 }
\ No newline at end of file
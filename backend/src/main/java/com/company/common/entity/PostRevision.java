@@ -0,0 +1,58 @@
+package com.company.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One revision of a post's title and content. The latest revision stores no content (it is
+ * the post's own); older ones store a reverse delta from the next revision
+ * ({@link com.company.common.util.TextDelta}) or, at checkpoints, the full content.
+ */
+@Entity
+@Table(name = "post_revisions",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"post_id", "revision_number"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostRevision {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+    
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(name = "editor_id")
+    private Long editorId;
+    
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage", nullable = false, length = 10)
+    private Storage storage;
+    
+    // Full content (FULL) or reverse delta (DELTA); null for the LATEST revision
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum Storage {
+        LATEST,
+        FULL,
+        DELTA
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.company.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted HyperLogLog sketch of the distinct viewers of a post, in the encoding of
+ * {@link com.company.common.util.HyperLogLog#toBytes()} (at most about 3 KB).
+ */
+@Entity
+@Table(name = "post_view_sketches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostViewSketch {
+    
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+    
+    @Column(name = "registers", nullable = false, length = 4096)
+    private byte[] registers;
+    
+    @Column(name = "unique_count", nullable = false)
+    private Long uniqueCount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
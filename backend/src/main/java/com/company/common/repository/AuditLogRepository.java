@@ -4,6 +4,8 @@ import com.company.common.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -16,6 +18,24 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     
     Page<AuditLog> findByEntityTypeOrderByCreatedAtDesc(String entityType, Pageable pageable);
     
+    @Query("SELECT a FROM AuditLog a ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatest(Pageable pageable);
+    
+    @Query("SELECT a FROM AuditLog a WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByEntityType(@Param("entityType") String entityType, Pageable pageable);
+    
+    @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findByEntityTypeBefore(@Param("entityType") String entityType,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+    
     List<AuditLog> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     
     void deleteByCreatedAtBefore(LocalDateTime date);
@@ -0,0 +1,19 @@
+package com.company.common.repository;
+
+import com.company.common.entity.BoardCategoryCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BoardCategoryCountRepository extends JpaRepository<BoardCategoryCount, BoardCategoryCount.Key> {
+    
+    @Query("SELECT c FROM BoardCategoryCount c WHERE c.id.boardId = :boardId AND c.postCount > 0 ORDER BY c.id.category")
+    List<BoardCategoryCount> findByBoardId(@Param("boardId") Long boardId);
+    
+    @Query("SELECT c FROM BoardCategoryCount c WHERE c.postCount > 0 ORDER BY c.id.boardId, c.id.category")
+    List<BoardCategoryCount> findAllNonEmpty();
+}
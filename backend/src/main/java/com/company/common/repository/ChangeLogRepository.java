@@ -0,0 +1,28 @@
+package com.company.common.repository;
+
+import com.company.common.entity.ChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLog, Long> {
+    
+    List<ChangeLog> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    List<ChangeLog> findByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ChangeLog c")
+    Long findMaxId();
+    
+    @Modifying
+    @Query("DELETE FROM ChangeLog c WHERE c.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
\ No newline at end of file
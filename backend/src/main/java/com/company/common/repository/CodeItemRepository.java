@@ -1,16 +1,19 @@
 package com.company.common.repository;
 
+import com.company.common.dto.code.CodeSuggestionDto;
 import com.company.common.entity.CodeItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CodeItemRepository extends JpaRepository<CodeItem, Long> {
+public interface CodeItemRepository extends JpaRepository<CodeItem, Long>, CodeItemRepositoryCustom {
     
     List<CodeItem> findByGroupIdOrderBySortOrder(Long groupId);
     
@@ -28,10 +31,23 @@ public interface CodeItemRepository extends JpaRepository<CodeItem, Long> {
     @Query("SELECT MAX(c.sortOrder) FROM CodeItem c WHERE c.groupId = :groupId")
     Integer findMaxSortOrderByGroupId(@Param("groupId") Long groupId);
     
-    void deleteByGroupId(Long groupId);
+    @Query("SELECT c.id FROM CodeItem c WHERE c.codeGroup.id = :groupId AND c.id IN :ids")
+    List<Long> findIdsByGroupIdAndIdIn(@Param("groupId") Long groupId, @Param("ids") Collection<Long> ids);
     
     List<CodeItem> findByCodeNameContaining(String keyword);
     
+    @Query("SELECT new com.company.common.dto.code.CodeSuggestionDto(c.id, g.groupId, c.codeValue, c.codeLabel, c.codeLabelEn) " +
+           "FROM CodeItem c JOIN c.codeGroup g WHERE c.isActive = true AND c.id > :afterId ORDER BY c.id")
+    List<CodeSuggestionDto> findSuggestionRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.company.common.dto.code.CodeSuggestionDto(c.id, g.groupId, c.codeValue, c.codeLabel, c.codeLabelEn) " +
+           "FROM CodeItem c JOIN c.codeGroup g WHERE c.isActive = true AND c.id = :id")
+    Optional<CodeSuggestionDto> findSuggestionRowById(@Param("id") Long id);
+    
+    @Query("SELECT new com.company.common.dto.code.CodeSuggestionDto(c.id, g.groupId, c.codeValue, c.codeLabel, c.codeLabelEn) " +
+           "FROM CodeItem c JOIN c.codeGroup g WHERE c.isActive = true AND g.groupId = :groupCode")
+    List<CodeSuggestionDto> findSuggestionRowsByGroupCode(@Param("groupCode") String groupCode);
+    
     @Query("SELECT c FROM CodeItem c WHERE c.groupId = :groupId AND (c.code LIKE %:keyword% OR c.codeName LIKE %:keyword%)")
     List<CodeItem> searchByGroupIdAndKeyword(@Param("groupId") Long groupId, @Param("keyword") String keyword);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.company.common.repository;
+
+import java.util.List;
+
+public interface CodeItemRepositoryCustom {
+    
+    /**
+     * Sets {@code sortOrder} of each item to its 1-based position in {@code orderedItemIds}
+     * using one UPDATE statement per chunk.
+     */
+    int updateSortOrders(List<Long> orderedItemIds);
+}
@@ -0,0 +1,17 @@
+package com.company.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class CodeItemRepositoryCustomImpl implements CodeItemRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int updateSortOrders(List<Long> orderedItemIds) {
+        return SortOrderUpdates.apply(entityManager, "CodeItem", orderedItemIds);
+    }
+}
@@ -5,8 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,8 +21,52 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     
     List<Comment> findByPostIdAndIsDeletedFalseOrderByCreatedAtAsc(Long postId);
     
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.post.id = :postId ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findWithAuthorByPostId(@Param("postId") Long postId);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.id IN :ids")
+    List<Comment> findWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Top-level comments of a post, oldest first, by (created_at, id) keyset
+    
+    @Query("SELECT c.id FROM Comment c WHERE c.post.id = :postId AND c.parent IS NULL " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Long> findFirstRootIds(@Param("postId") Long postId, Pageable pageable);
+    
+    @Query("SELECT c.id FROM Comment c WHERE c.post.id = :postId AND c.parent IS NULL " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Long> findRootIdsAfter(@Param("postId") Long postId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+    
+    /**
+     * Ids of the first {@code limit} replies (oldest first) of each thread.
+     */
+    @Query(value = "SELECT id FROM (SELECT c.id, ROW_NUMBER() OVER " +
+                   "(PARTITION BY c.root_id ORDER BY c.created_at, c.id) AS position " +
+                   "FROM comments c WHERE c.root_id IN (:rootIds)) ranked WHERE position <= :limit",
+           nativeQuery = true)
+    List<Long> findLeadingReplyIds(@Param("rootIds") Collection<Long> rootIds, @Param("limit") int limit);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.rootId = :rootId " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findFirstReplies(@Param("rootId") Long rootId, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.rootId = :rootId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findRepliesAfter(@Param("rootId") Long rootId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+    
     Long countByPostId(Long postId);
     
+    @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countByPostIdIn(@Param("postIds") Collection<Long> postIds);
+    
     void deleteByPostId(Long postId);
     
     @Query("SELECT c FROM Comment c WHERE c.isDeleted = false ORDER BY c.createdAt DESC")
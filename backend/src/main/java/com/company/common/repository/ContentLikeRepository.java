@@ -0,0 +1,21 @@
+package com.company.common.repository;
+
+import com.company.common.entity.ContentLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentLikeRepository extends JpaRepository<ContentLike, ContentLike.Key> {
+    
+    @Modifying
+    @Query("DELETE FROM ContentLike l WHERE l.id.targetType = :targetType AND l.id.targetId = :targetId")
+    int deleteByTarget(@Param("targetType") ContentLike.TargetType targetType, @Param("targetId") Long targetId);
+    
+    @Modifying
+    @Query("DELETE FROM ContentLike l WHERE l.id.targetType = com.company.common.entity.ContentLike.TargetType.COMMENT " +
+           "AND l.id.targetId IN (SELECT c.id FROM Comment c WHERE c.post.id = :postId)")
+    int deleteCommentLikesByPostId(@Param("postId") Long postId);
+}
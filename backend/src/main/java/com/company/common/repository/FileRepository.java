@@ -3,9 +3,11 @@ package com.company.common.repository;
 import com.company.common.entity.FileEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +22,9 @@ public interface FileRepository extends JpaRepository<FileEntity, Long> {
     List<FileEntity> findExpiredFiles(LocalDateTime now);
     
     List<FileEntity> findByIsPublicTrue();
+    
+    List<FileEntity> findByFilePathIn(Collection<String> filePaths);
+    
+    @Query("SELECT DISTINCT a.filePath FROM PostAttachment a WHERE a.filePath IN :filePaths")
+    List<String> findAttachedFilePaths(@Param("filePaths") Collection<String> filePaths);
 }
\ No newline at end of file
@@ -3,15 +3,23 @@ package com.company.common.repository;
 import com.company.common.entity.Menu;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface MenuRepository extends JpaRepository<Menu, Long> {
+public interface MenuRepository extends JpaRepository<Menu, Long>, MenuRepositoryCustom {
     
     List<Menu> findByParentIsNullOrderBySortOrder();
     
     @Query("SELECT m FROM Menu m WHERE m.parent IS NULL AND m.isActive = true ORDER BY m.sortOrder")
     List<Menu> findActiveRootMenus();
+    
+    @Query("SELECT m.id FROM Menu m WHERE m.parent.id = :parentId AND m.id IN :ids")
+    List<Long> findChildIdsIn(@Param("parentId") Long parentId, @Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT m.id FROM Menu m WHERE m.parent IS NULL AND m.id IN :ids")
+    List<Long> findRootIdsIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
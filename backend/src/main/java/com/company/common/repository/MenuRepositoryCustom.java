@@ -0,0 +1,12 @@
+package com.company.common.repository;
+
+import java.util.List;
+
+public interface MenuRepositoryCustom {
+    
+    /**
+     * Sets {@code sortOrder} of each menu to its 1-based position in {@code orderedMenuIds}
+     * using one UPDATE statement per chunk.
+     */
+    int updateSortOrders(List<Long> orderedMenuIds);
+}
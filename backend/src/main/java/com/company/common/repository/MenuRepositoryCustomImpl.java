@@ -0,0 +1,17 @@
+package com.company.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class MenuRepositoryCustomImpl implements MenuRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int updateSortOrders(List<Long> orderedMenuIds) {
+        return SortOrderUpdates.apply(entityManager, "Menu", orderedMenuIds);
+    }
+}
@@ -1,24 +1,144 @@
 package com.company.common.repository;
 
+import com.company.common.dto.board.PostSearchDocument;
+import com.company.common.dto.board.PostSummary;
 import com.company.common.entity.Board;
 import com.company.common.entity.Post;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     
+    /**
+     * Projection of the list columns into {@link PostSummary}, with the author joined once for
+     * the name. Append the WHERE clause.
+     */
+    String SUMMARY_SELECT = "SELECT new com.company.common.dto.board.PostSummary(p.id, p.board.id, a.id, " +
+            "a.firstName, a.lastName, p.title, p.category, p.viewCount, p.uniqueViewCount, p.likeCount, " +
+            "p.commentCount, p.attachmentCount, " +
+            "p.isNotice, p.isPinned, p.isSecret, p.postType, p.allowComments, p.isAnonymous, " +
+            "p.createdAt, p.updatedAt) FROM Post p JOIN p.author a ";
+    
+    /**
+     * Locks the post so concurrent edits, and the revisions recorded for them, apply one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findByIdForUpdate(@Param("id") Long id);
+    
     Page<Post> findByBoardIdAndIsDraftFalseOrderByCreatedAtDesc(Long boardId, Pageable pageable);
     
     Page<Post> findByBoardIdAndCategoryAndIsDraftFalseOrderByCreatedAtDesc(Long boardId, String category, Pageable pageable);
     
+    @Query(value = SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.isDraft = false",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.board.id = :boardId AND p.isDraft = false")
+    Page<PostSummary> findSummariesByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.category = :category AND p.isDraft = false",
+           countQuery = "SELECT COUNT(p) FROM Post p " +
+                        "WHERE p.board.id = :boardId AND p.category = :category AND p.isDraft = false")
+    Page<PostSummary> findSummariesByBoardIdAndCategory(@Param("boardId") Long boardId,
+                                                        @Param("category") String category,
+                                                        Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.isDraft = false " +
+                   "AND NOT EXISTS (SELECT 1 FROM Post x JOIN x.tags t WHERE x.id = p.id AND t IN :tags)",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.board.id = :boardId AND p.isDraft = false " +
+                        "AND NOT EXISTS (SELECT 1 FROM Post x JOIN x.tags t WHERE x.id = p.id AND t IN :tags)")
+    Page<PostSummary> findSummariesByBoardIdWithoutTags(@Param("boardId") Long boardId,
+                                                        @Param("tags") Collection<String> tags,
+                                                        Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.category = :category AND p.isDraft = false " +
+                   "AND NOT EXISTS (SELECT 1 FROM Post x JOIN x.tags t WHERE x.id = p.id AND t IN :tags)",
+           countQuery = "SELECT COUNT(p) FROM Post p " +
+                        "WHERE p.board.id = :boardId AND p.category = :category AND p.isDraft = false " +
+                        "AND NOT EXISTS (SELECT 1 FROM Post x JOIN x.tags t WHERE x.id = p.id AND t IN :tags)")
+    Page<PostSummary> findSummariesByBoardIdAndCategoryWithoutTags(@Param("boardId") Long boardId,
+                                                                   @Param("category") String category,
+                                                                   @Param("tags") Collection<String> tags,
+                                                                   Pageable pageable);
+    
+    /**
+     * Posting list of a tag on a board, read through the {@code post_tags (tag, post_id)} index.
+     */
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE t = :tag AND p.board.id = :boardId AND p.isDraft = false " +
+           "ORDER BY p.id")
+    List<Long> findPublishedIdsByBoardIdAndTag(@Param("boardId") Long boardId, @Param("tag") String tag);
+    
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE t = :tag AND p.board.id = :boardId " +
+           "AND p.category = :category AND p.isDraft = false ORDER BY p.id")
+    List<Long> findPublishedIdsByBoardIdAndTagAndCategory(@Param("boardId") Long boardId, @Param("tag") String tag,
+                                                          @Param("category") String category);
+    
+    @Query("SELECT t, COUNT(p) FROM Post p JOIN p.tags t WHERE p.board.id = :boardId AND p.isDraft = false " +
+           "GROUP BY t ORDER BY COUNT(p) DESC, t")
+    List<Object[]> countTagsByBoardId(@Param("boardId") Long boardId);
+    
+    /**
+     * (id, board id, title, view count, like count) of every published post, read in batches
+     * for building the title autocomplete. Must run inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id, p.board.id, p.title, p.viewCount, p.likeCount FROM Post p WHERE p.isDraft = false")
+    Stream<Object[]> streamTitleRows();
+    
+    @Query("SELECT p.id, p.board.id, p.title, p.viewCount, p.likeCount FROM Post p " +
+           "WHERE p.id IN :postIds AND p.isDraft = false")
+    List<Object[]> findTitleRowsByIdIn(@Param("postIds") Collection<Long> postIds);
+    
+    @Query("SELECT p.board.id FROM Post p WHERE p.id = :postId")
+    Optional<Long> findBoardIdById(@Param("postId") Long postId);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :postIds AND p.isDraft = false")
+    List<PostSummary> findPublishedSummariesByIdIn(@Param("postIds") Collection<Long> postIds);
+    
+    // Keyset pagination over (created_at, id); see KeysetCursor
+    
+    @Query(SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.isDraft = false " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findLatestByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.isDraft = false " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findByBoardIdBefore(@Param("boardId") Long boardId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.category = :category AND p.isDraft = false " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findLatestByBoardIdAndCategory(@Param("boardId") Long boardId,
+                                                     @Param("category") String category,
+                                                     Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.category = :category AND p.isDraft = false " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findByBoardIdAndCategoryBefore(@Param("boardId") Long boardId,
+                                                     @Param("category") String category,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+    
     @Query("SELECT p FROM Post p WHERE p.board.id = :boardId AND p.isDraft = false AND " +
            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
@@ -30,8 +150,18 @@ public interface PostRepository extends JpaRepository<Post, Long> {
            "(p.noticeEndDate IS NULL OR p.noticeEndDate >= :now) ORDER BY p.createdAt DESC")
     List<Post> findActiveNotices(@Param("now") LocalDateTime now);
     
+    @Query("SELECT p.id, p.noticeStartDate, p.noticeEndDate FROM Post p " +
+           "WHERE p.isNotice = true AND p.isDraft = false AND (p.noticeEndDate IS NULL OR p.noticeEndDate >= :now) " +
+           "ORDER BY p.createdAt DESC")
+    List<Object[]> findCurrentAndUpcomingNotices(@Param("now") LocalDateTime now);
+    
     List<Post> findByBoardIdAndIsPinnedTrueOrderBySortOrder(Long boardId);
     
+    @Query(SUMMARY_SELECT + "WHERE p.board.id = :boardId AND p.isPinned = true AND p.isDraft = false " +
+           "ORDER BY p.sortOrder, p.createdAt DESC")
+    List<PostSummary> findPinnedSummariesByBoardId(@Param("boardId") Long boardId);
+    
+    @Modifying
     @Query("UPDATE Post p SET p.viewCount = p.viewCount + 1 WHERE p.id = :postId")
     void incrementViewCount(@Param("postId") Long postId);
     
@@ -46,7 +176,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     
     Page<Post> findByBoardIdAndCategory(Long boardId, String category, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.board.id = :boardId AND p.tags IN :tags")
+    @Query(value = "SELECT DISTINCT p FROM Post p JOIN p.tags t " +
+                   "WHERE p.board.id = :boardId AND p.isDraft = false AND t IN :tags",
+           countQuery = "SELECT COUNT(DISTINCT p) FROM Post p JOIN p.tags t " +
+                        "WHERE p.board.id = :boardId AND p.isDraft = false AND t IN :tags")
     Page<Post> findByBoardIdAndTagsIn(@Param("boardId") Long boardId, 
                                       @Param("tags") List<String> tags, 
                                       Pageable pageable);
@@ -97,7 +230,35 @@ public interface PostRepository extends JpaRepository<Post, Long> {
                         @Param("endDate") LocalDateTime endDate,
                         Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.createdAt >= :since " +
-           "ORDER BY p.viewCount DESC, p.likeCount DESC")
+    @Query("SELECT p FROM Post p WHERE p.createdAt >= :since AND p.isDraft = false " +
+           "ORDER BY p.uniqueViewCount DESC, p.likeCount DESC, p.viewCount DESC")
     Page<Post> findPopularPosts(@Param("since") LocalDateTime since, Pageable pageable);
-}
\ No newline at end of file
+    
+    @Query(SUMMARY_SELECT + "WHERE p.createdAt >= :since AND p.isDraft = false " +
+           "ORDER BY p.uniqueViewCount DESC, p.likeCount DESC, p.viewCount DESC")
+    List<PostSummary> findPopularSummaries(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    @Query("SELECT p.id, p.createdAt, p.uniqueViewCount, p.likeCount FROM Post p " +
+           "WHERE p.createdAt >= :since AND p.isDraft = false " +
+           "ORDER BY p.uniqueViewCount DESC, p.likeCount DESC")
+    List<Object[]> findPopularityRows(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    @Query("SELECT new com.company.common.dto.board.PostSearchDocument(p.id, p.board.id, p.category, p.createdAt, " +
+           "p.title, p.content, CONCAT(COALESCE(a.firstName, ''), ' ', COALESCE(a.lastName, ''))) " +
+           "FROM Post p JOIN p.author a WHERE p.isDraft = false AND p.id > :afterId ORDER BY p.id")
+    List<PostSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.company.common.dto.board.PostSearchDocument(p.id, p.board.id, p.category, p.createdAt, " +
+           "p.title, p.content, CONCAT(COALESCE(a.firstName, ''), ' ', COALESCE(a.lastName, ''))) " +
+           "FROM Post p JOIN p.author a WHERE p.isDraft = false AND p.id = :postId")
+    Optional<PostSearchDocument> findSearchDocumentById(@Param("postId") Long postId);
+    
+    @Query("SELECT p.id, t FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<Object[]> findTagsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+    
+    @Query("SELECT p.id FROM Post p WHERE p.board.id = :boardId")
+    List<Long> findIdsByBoardId(@Param("boardId") Long boardId);
+    
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :postIds")
+    List<Long> findExistingIds(@Param("postIds") Collection<Long> postIds);
+}
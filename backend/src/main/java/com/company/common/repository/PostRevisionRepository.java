@@ -0,0 +1,37 @@
+package com.company.common.repository;
+
+import com.company.common.dto.board.PostRevisionSummary;
+import com.company.common.entity.PostRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, Long> {
+    
+    Optional<PostRevision> findTopByPostIdOrderByRevisionNumberDesc(Long postId);
+    
+    /**
+     * The post's revisions without their stored content, newest first.
+     */
+    @Query("SELECT new com.company.common.dto.board.PostRevisionSummary(r.revisionNumber, r.title, r.editorId, " +
+           "u.firstName, u.lastName, r.contentLength, r.createdAt) " +
+           "FROM PostRevision r LEFT JOIN User u ON u.id = r.editorId " +
+           "WHERE r.postId = :postId ORDER BY r.revisionNumber DESC")
+    List<PostRevisionSummary> findSummariesByPostId(@Param("postId") Long postId);
+    
+    /**
+     * Number of the first revision at or after the given one whose content is stored in full
+     * or is the post's own.
+     */
+    @Query("SELECT MIN(r.revisionNumber) FROM PostRevision r WHERE r.postId = :postId " +
+           "AND r.revisionNumber >= :revisionNumber " +
+           "AND r.storage <> com.company.common.entity.PostRevision.Storage.DELTA")
+    Integer findAnchorRevisionNumber(@Param("postId") Long postId, @Param("revisionNumber") Integer revisionNumber);
+    
+    List<PostRevision> findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberDesc(Long postId, Integer from, Integer to);
+}
\ No newline at end of file
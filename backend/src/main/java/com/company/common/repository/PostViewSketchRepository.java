@@ -0,0 +1,23 @@
+package com.company.common.repository;
+
+import com.company.common.entity.PostViewSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostViewSketchRepository extends JpaRepository<PostViewSketch, Long> {
+    
+    /**
+     * Locks the sketches so that flushes from several nodes merge into them one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PostViewSketch s WHERE s.postId IN :postIds ORDER BY s.postId")
+    List<PostViewSketch> findForUpdate(@Param("postIds") Collection<Long> postIds);
+}
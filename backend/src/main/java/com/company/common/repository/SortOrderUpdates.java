@@ -0,0 +1,52 @@
+package com.company.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builds set-based sort order updates shared by the reorderable repositories.
+ * Each chunk of ids is written with a single {@code UPDATE ... SET sortOrder = CASE id ...}
+ * statement instead of a load and save per row.
+ */
+final class SortOrderUpdates {
+    
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+    
+    private SortOrderUpdates() {
+    }
+    
+    /**
+     * Assigns sort order {@code i + 1} to the i-th id of {@code orderedIds}.
+     *
+     * @return number of rows updated
+     */
+    static int apply(EntityManager entityManager, String entityName, List<Long> orderedIds) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        
+        for (int from = 0; from < orderedIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<Long> chunk = orderedIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, orderedIds.size()));
+            
+            StringBuilder jpql = new StringBuilder("UPDATE ").append(entityName)
+                    .append(" e SET e.sortOrder = CASE e.id");
+            for (int i = 0; i < chunk.size(); i++) {
+                jpql.append(" WHEN :id").append(i).append(" THEN ").append(from + i + 1);
+            }
+            jpql.append(" ELSE e.sortOrder END, e.updatedAt = :now WHERE e.id IN :ids");
+            
+            Query query = entityManager.createQuery(jpql.toString());
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("id" + i, chunk.get(i));
+            }
+            query.setParameter("now", now);
+            query.setParameter("ids", chunk);
+            
+            updated += query.executeUpdate();
+        }
+        
+        return updated;
+    }
+}
@@ -1,10 +1,12 @@
 package com.company.common.repository;
 
 import com.company.common.entity.SystemConfig;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,14 @@ public interface SystemConfigRepository extends JpaRepository<SystemConfig, Long
     
     boolean existsByConfigKey(String configKey);
     
+    List<SystemConfig> findByIsActiveTrue();
+    
+    List<SystemConfig> findByConfigKeyIn(Collection<String> configKeys);
+    
+    List<SystemConfig> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    List<SystemConfig> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long id, Pageable pageable);
+    
     @Query("SELECT DISTINCT s.category FROM SystemConfig s")
     List<String> findDistinctCategories();
     
@@ -1,7 +1,9 @@
 package com.company.common.service;
 
+import com.company.common.dto.CursorPage;
 import com.company.common.entity.AuditLog;
 import com.company.common.repository.AuditLogRepository;
+import com.company.common.util.KeysetCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,8 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 
 @Service
 @Aspect
@@ -162,6 +166,26 @@ public class AuditLogService {
         return request.getRemoteAddr();
     }
     
+    /**
+     * Newest audit entries, optionally of one entity type, after {@code cursor}.
+     */
+    public CursorPage<AuditLog> getAuditLogs(String entityType, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.clampSize(size);
+        List<AuditLog> logs;
+        if (entityType != null) {
+            logs = after == null
+                    ? auditLogRepository.findLatestByEntityType(entityType, KeysetCursor.limit(limit))
+                    : auditLogRepository.findByEntityTypeBefore(entityType, after.getCreatedAt(), after.getId(),
+                            KeysetCursor.limit(limit));
+        } else {
+            logs = after == null
+                    ? auditLogRepository.findLatest(KeysetCursor.limit(limit))
+                    : auditLogRepository.findBefore(after.getCreatedAt(), after.getId(), KeysetCursor.limit(limit));
+        }
+        return KeysetCursor.page(logs, limit, AuditLog::getCreatedAt, AuditLog::getId, Function.identity());
+    }
+    
     public void logLogin(String userEmail, String ipAddress, boolean success) {
         AuditLog auditLog = AuditLog.builder()
                 .userEmail(userEmail)
@@ -0,0 +1,178 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.PostDto;
+import com.company.common.entity.ChangeLog;
+import com.company.common.repository.PostRepository;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputed first pages of board listings (newest first), per board and category.
+ * <p>
+ * Most listing traffic is the first page in the default order, so {@link BoardService} keeps
+ * that page, its total count and the board's pinned posts here instead of running both queries
+ * on every request. Any post change on a board drops the board's pages after commit; a
+ * per-board generation keeps a build that raced with it from being cached. Counters shown in
+ * the listing (views, likes, comments) are refreshed when a page expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardFeedCache {
+    
+    private final PostRepository postRepository;
+    
+    @Value("${app.board.first-page-cache.size:20}")
+    private int pageSize;
+    
+    @Value("${app.board.first-page-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+    
+    private final Map<FeedKey, FirstPage> pages = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    
+    /**
+     * Number of posts kept per cached page; larger first pages are built on every request.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public FirstPage get(Long boardId, String category) {
+        FeedKey key = new FeedKey(boardId, category);
+        FirstPage page = pages.get(key);
+        if (page != null && System.nanoTime() - page.builtAt > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            pages.remove(key, page);
+            return null;
+        }
+        return page;
+    }
+    
+    /**
+     * Generation to pass to {@link #put}; take it before building the page.
+     */
+    public long generation(Long boardId) {
+        return generationOf(boardId).get();
+    }
+    
+    public void put(Long boardId, String category, FirstPage page, long generation) {
+        FeedKey key = new FeedKey(boardId, category);
+        pages.put(key, page);
+        if (generationOf(boardId).get() != generation) {
+            // Invalidated while building
+            pages.remove(key, page);
+        }
+    }
+    
+    /**
+     * Drops the board's cached pages once the current transaction commits.
+     */
+    public void invalidateBoard(Long boardId) {
+        TransactionUtils.afterCommit(() -> evict(boardId));
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.POST) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            clear();
+            return;
+        }
+        for (String key : event.getKeys()) {
+            Optional<Long> boardId = postRepository.findBoardIdById(Long.parseLong(key));
+            if (boardId.isPresent()) {
+                evict(boardId.get());
+            } else {
+                // Deleted post: its board is unknown now
+                clear();
+                return;
+            }
+        }
+    }
+    
+    private void evict(Long boardId) {
+        generationOf(boardId).incrementAndGet();
+        pages.keySet().removeIf(key -> key.boardId.equals(boardId));
+    }
+    
+    private void clear() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        pages.clear();
+        log.debug("Board first-page cache cleared");
+    }
+    
+    private AtomicLong generationOf(Long boardId) {
+        return generations.computeIfAbsent(boardId, id -> new AtomicLong());
+    }
+    
+    /**
+     * Pinned posts in their sort order, the newest posts and the listing's total count.
+     */
+    public static final class FirstPage {
+        
+        private final List<PostDto> pinned;
+        private final List<PostDto> posts;
+        private final long total;
+        private final long builtAt = System.nanoTime();
+        
+        public FirstPage(List<PostDto> pinned, List<PostDto> posts, long total) {
+            this.pinned = List.copyOf(pinned);
+            this.posts = List.copyOf(posts);
+            this.total = total;
+        }
+        
+        public List<PostDto> getPinned() {
+            return pinned;
+        }
+        
+        public List<PostDto> getPosts() {
+            return posts;
+        }
+        
+        public long getTotal() {
+            return total;
+        }
+    }
+    
+    private static final class FeedKey {
+        
+        private final Long boardId;
+        private final String category;
+        
+        FeedKey(Long boardId, String category) {
+            this.boardId = boardId;
+            this.category = category;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FeedKey)) {
+                return false;
+            }
+            FeedKey other = (FeedKey) o;
+            return boardId.equals(other.boardId) && Objects.equals(category, other.category);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * boardId.hashCode() + Objects.hashCode(category);
+        }
+    }
+}
\ No newline at end of file
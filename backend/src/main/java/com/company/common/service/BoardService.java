@@ -0,0 +1,1150 @@
+package com.company.common.service;
+
+import com.company.common.dto.CursorPage;
+import com.company.common.dto.board.*;
+import com.company.common.entity.*;
+import com.company.common.exception.BadRequestException;
+import com.company.common.exception.ResourceNotFoundException;
+import com.company.common.repository.*;
+import com.company.common.util.KeysetCursor;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BoardService {
+    
+    private static final String ANONYMOUS_NAME = "Anonymous";
+    // Popular post DTOs are rebuilt at most this often while the ranking changes, and at least this often otherwise
+    private static final long POPULAR_MIN_REFRESH_MS = 5_000;
+    private static final long POPULAR_MAX_REFRESH_MS = 60_000;
+    private static final int DEFAULT_REPLY_PREVIEW = 10;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    
+    private final BoardRepository boardRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final FileRepository fileRepository;
+    private final PostSearchEngine postSearchEngine;
+    private final PostViewCounter postViewCounter;
+    private final LikeService likeService;
+    private final ChangeLogService changeLogService;
+    private final PopularPostRanking popularPostRanking;
+    private final PostTagIndex postTagIndex;
+    private final PostDetailCache postDetailCache;
+    private final BoardFeedCache boardFeedCache;
+    private final SearchResultCache searchResultCache;
+    private final PostTitleAutocomplete postTitleAutocomplete;
+    private final ContentCounterService contentCounterService;
+    private final BulkDeleteService bulkDeleteService;
+    private final PostRevisionService postRevisionService;
+    private final BoardCategoryCountRepository boardCategoryCountRepository;
+    private final PasswordEncoder passwordEncoder;
+    
+    private volatile PopularSnapshot popularSnapshot;
+    private volatile NoticeSchedule noticeSchedule;
+    // Bumped on every notice change, so a reload racing with one is not kept
+    private final AtomicLong noticeGeneration = new AtomicLong();
+    
+    // Boards
+    
+    public List<BoardDto> getAllBoards(Boolean isActive, Boolean isPublic) {
+        Map<Long, Map<String, Long>> categoryCounts = new HashMap<>();
+        for (BoardCategoryCount count : boardCategoryCountRepository.findAllNonEmpty()) {
+            categoryCounts.computeIfAbsent(count.getId().getBoardId(), id -> new LinkedHashMap<>())
+                    .put(count.getId().getCategory(), count.getPostCount());
+        }
+        return boardRepository.findAll(Sort.by("sortOrder", "id")).stream()
+                .filter(board -> isActive == null || isActive.equals(board.getIsActive()))
+                .filter(board -> isPublic == null || isPublic.equals(board.getIsPublic()))
+                .map(board -> convertToBoardDto(board, categoryCounts.getOrDefault(board.getId(), new LinkedHashMap<>())))
+                .collect(Collectors.toList());
+    }
+    
+    public BoardDto getBoardById(Long boardId) {
+        return convertToBoardDto(findBoard(boardId));
+    }
+    
+    @Transactional
+    public BoardDto createBoard(BoardCreateRequest request) {
+        Board board = Board.builder()
+                .useSecret(false)
+                .useReply(true)
+                .useCategory(false)
+                .allowedExtensions("jpg,jpeg,png,gif,pdf,doc,docx,xls,xlsx,ppt,pptx,zip")
+                .posts(new ArrayList<>())
+                .build();
+        applyBoardRequest(board, request);
+        
+        Board saved = boardRepository.save(board);
+        log.info("Board created: {}", saved.getBoardName());
+        return convertToBoardDto(saved);
+    }
+    
+    @Transactional
+    public BoardDto updateBoard(Long boardId, BoardCreateRequest request) {
+        Board board = findBoard(boardId);
+        applyBoardRequest(board, request);
+        
+        Board saved = boardRepository.save(board);
+        boardFeedCache.invalidateBoard(boardId);
+        log.info("Board updated: {}", saved.getBoardName());
+        return convertToBoardDto(saved);
+    }
+    
+    @Transactional
+    public void deleteBoard(Long boardId) {
+        Board board = findBoard(boardId);
+        List<Long> postIds = postRepository.findIdsByBoardId(boardId);
+        
+        bulkDeleteService.deleteBoard(boardId, postIds);
+        postIds.forEach(postSearchEngine::remove);
+        postIds.forEach(postDetailCache::invalidate);
+        postTagIndex.invalidateBoard(boardId);
+        boardFeedCache.invalidateBoard(boardId);
+        searchResultCache.invalidateBoard(boardId);
+        postTitleAutocomplete.removeBoardAfterCommit(boardId);
+        invalidateNotices();
+        changeLogService.recordAll(ChangeLog.ChangeScope.POST,
+                postIds.stream().map(String::valueOf).collect(Collectors.toList()));
+        log.info("Board deleted: {} ({} posts)", board.getBoardName(), postIds.size());
+    }
+    
+    // Posts
+    
+    /**
+     * Lists a board's published posts. {@code anyTags} (OR), {@code allTags} (AND),
+     * {@code excludeTags} (NOT) and the category combine in every case. A keyword goes through
+     * the {@link PostSearchEngine}, which applies all of them. Otherwise tag filters are answered
+     * by the {@link PostTagIndex}, and tag-filtered pages are newest first.
+     */
+    public Page<PostDto> getPostsByBoard(Long boardId, String keyword, String category, List<String> anyTags,
+                                         List<String> allTags, List<String> excludeTags, Pageable pageable) {
+        findBoard(boardId);
+        Set<String> any = PostTagIndex.normalize(anyTags);
+        Set<String> all = PostTagIndex.normalize(allTags);
+        Set<String> none = PostTagIndex.normalize(excludeTags);
+        
+        if (keyword != null && !keyword.isBlank()) {
+            PostSearchQuery query = PostSearchQuery.keyword(keyword)
+                    .boardId(boardId)
+                    .category(category)
+                    .tags(any.isEmpty() ? null : new ArrayList<>(any))
+                    .allTags(all.isEmpty() ? null : new ArrayList<>(all))
+                    .excludedTags(none.isEmpty() ? null : new ArrayList<>(none))
+                    .build();
+            return loadSearchResults(postSearchEngine.search(query, pageable));
+        }
+        
+        if (!any.isEmpty() || !all.isEmpty()) {
+            return loadTaggedPage(postTagIndex.match(boardId, category, all, any, none), pageable);
+        }
+        
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+        }
+        if (none.isEmpty() && pageable.getPageNumber() == 0 && pageable.getSort().equals(NEWEST_FIRST)) {
+            return getFirstPage(boardId, category, pageable);
+        }
+        Page<PostSummary> posts;
+        if (!none.isEmpty()) {
+            posts = category != null
+                    ? postRepository.findSummariesByBoardIdAndCategoryWithoutTags(boardId, category, none, pageable)
+                    : postRepository.findSummariesByBoardIdWithoutTags(boardId, none, pageable);
+        } else if (category != null) {
+            posts = postRepository.findSummariesByBoardIdAndCategory(boardId, category, pageable);
+        } else {
+            posts = postRepository.findSummariesByBoardId(boardId, pageable);
+        }
+        return new PageImpl<>(convertSummaries(posts.getContent()), posts.getPageable(), posts.getTotalElements());
+    }
+    
+    /**
+     * First page in the default order with the board's pinned posts on top (those of the
+     * category, when one is given), served from {@link BoardFeedCache}. Pinned posts that would
+     * also appear on the page are not repeated; the total counts every post once.
+     */
+    private Page<PostDto> getFirstPage(Long boardId, String category, Pageable pageable) {
+        int size = pageable.getPageSize();
+        boolean cacheable = size <= boardFeedCache.getPageSize();
+        BoardFeedCache.FirstPage page = cacheable ? boardFeedCache.get(boardId, category) : null;
+        if (page == null) {
+            long generation = boardFeedCache.generation(boardId);
+            page = buildFirstPage(boardId, category, Math.max(size, boardFeedCache.getPageSize()));
+            if (cacheable) {
+                boardFeedCache.put(boardId, category, page, generation);
+            }
+        }
+        
+        Set<Long> pinnedIds = page.getPinned().stream().map(PostDto::getId).collect(Collectors.toSet());
+        List<PostDto> content = new ArrayList<>(page.getPinned());
+        page.getPosts().stream()
+                .limit(size)
+                .filter(post -> !pinnedIds.contains(post.getId()))
+                .forEach(content::add);
+        return new PageImpl<>(content, pageable, page.getTotal());
+    }
+    
+    private BoardFeedCache.FirstPage buildFirstPage(Long boardId, String category, int size) {
+        Pageable first = PageRequest.of(0, size, NEWEST_FIRST);
+        Page<PostSummary> latest = category != null
+                ? postRepository.findSummariesByBoardIdAndCategory(boardId, category, first)
+                : postRepository.findSummariesByBoardId(boardId, first);
+        List<PostSummary> pinned = postRepository.findPinnedSummariesByBoardId(boardId).stream()
+                .filter(post -> category == null || category.equals(post.getCategory()))
+                .collect(Collectors.toList());
+        
+        // One conversion for both lists, so board names and tags load once
+        List<PostSummary> rows = new ArrayList<>(pinned);
+        rows.addAll(latest.getContent());
+        List<PostDto> converted = convertSummaries(rows);
+        return new BoardFeedCache.FirstPage(converted.subList(0, pinned.size()),
+                converted.subList(pinned.size(), converted.size()), latest.getTotalElements());
+    }
+    
+    /**
+     * Titles of the board's posts starting with {@code prefix}, most popular first. Answered
+     * from {@link PostTitleAutocomplete} without touching the database.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<TitleSuggestionDto> getTitleSuggestions(Long boardId, String prefix, Integer limit) {
+        return postTitleAutocomplete.suggest(boardId, prefix, limit != null && limit > 0 ? limit : 10);
+    }
+    
+    public List<TagCountDto> getBoardTags(Long boardId, Integer limit) {
+        findBoard(boardId);
+        return postTagIndex.getTagCounts(boardId, limit != null && limit > 0 ? limit : 50);
+    }
+    
+    /**
+     * Newest published posts of the board after {@code cursor}, without a count query.
+     */
+    public CursorPage<PostDto> getPostsByBoard(Long boardId, String category, String cursor, Integer size) {
+        findBoard(boardId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.clampSize(size);
+        
+        List<PostSummary> posts;
+        if (category != null) {
+            posts = after == null
+                    ? postRepository.findLatestByBoardIdAndCategory(boardId, category, KeysetCursor.limit(limit))
+                    : postRepository.findByBoardIdAndCategoryBefore(boardId, category,
+                            after.getCreatedAt(), after.getId(), KeysetCursor.limit(limit));
+        } else {
+            posts = after == null
+                    ? postRepository.findLatestByBoardId(boardId, KeysetCursor.limit(limit))
+                    : postRepository.findByBoardIdBefore(boardId, after.getCreatedAt(), after.getId(),
+                            KeysetCursor.limit(limit));
+        }
+        boolean hasNext = posts.size() > limit;
+        List<PostSummary> content = hasNext ? posts.subList(0, limit) : posts;
+        PostSummary last = hasNext ? content.get(content.size() - 1) : null;
+        return CursorPage.<PostDto>builder()
+                .content(convertSummaries(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(last != null ? KeysetCursor.of(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+    
+    /**
+     * Served from {@link PostDetailCache} when possible. Secret posts are never cached, so
+     * their password is checked against the stored post on every read.
+     */
+    public PostDto getPostById(Long postId, String secretPassword) {
+        PostDto cached = postDetailCache.get(postId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long stamp = postDetailCache.stamp();
+        Post post = findPost(postId);
+        boolean secret = Boolean.TRUE.equals(post.getIsSecret());
+        if (secret && !canReadSecret(post, secretPassword)) {
+            throw new AccessDeniedException("A valid password is required to read this post");
+        }
+        PostDto dto = convertToPostDto(post);
+        if (!secret) {
+            postDetailCache.put(dto, stamp);
+        }
+        return dto;
+    }
+    
+    /**
+     * Buffers the view in memory; {@link PostViewCounter} writes it back in batches.
+     */
+    public void incrementViewCount(Long postId) {
+        postViewCounter.increment(postId);
+    }
+    
+    /**
+     * Like {@link #incrementViewCount(Long)}, also counting the viewer towards the post's unique
+     * views: signed-in users by id, anonymous readers by client address.
+     */
+    public void recordView(Long postId, Long userId, String clientIp) {
+        String viewerKey = userId != null ? "u:" + userId : clientIp != null ? "ip:" + clientIp : null;
+        postViewCounter.recordView(postId, viewerKey);
+        postDetailCache.onView(postId);
+    }
+    
+    @Transactional
+    public PostDto createPost(PostCreateRequest request, Long userId) {
+        Board board = findBoard(request.getBoardId());
+        if (!Boolean.TRUE.equals(board.getIsActive())) {
+            throw new BadRequestException("Board is not active");
+        }
+        User author = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        Post post = Post.builder()
+                .board(board)
+                .author(author)
+                .title(request.getTitle())
+                .content(request.getContent())
+                .category(request.getCategory())
+                .postType(request.getPostType())
+                .viewCount(0L)
+                .likeCount(0L)
+                .dislikeCount(0L)
+                .isNotice(false)
+                .isPinned(Boolean.TRUE.equals(request.getIsPinned()))
+                .isAnonymous(Boolean.TRUE.equals(request.getIsAnonymous()))
+                .allowComments(!Boolean.FALSE.equals(request.getAllowComments()))
+                .parentPostId(request.getParentPostId())
+                .metadata(request.getMetadata())
+                .isDraft(false)
+                .publishedAt(LocalDateTime.now())
+                .sortOrder(0)
+                .attachmentCount(0)
+                .tags(new HashSet<>(PostTagIndex.normalize(request.getTags())))
+                .comments(new ArrayList<>())
+                .attachments(new ArrayList<>())
+                .build();
+        applySecret(post, request.getIsSecret(), request.getSecretPassword());
+        applyNotice(post, request.getIsNotice(), request.getNoticeStartDate(), request.getNoticeEndDate());
+        if (request.getAttachmentIds() != null) {
+            attachFiles(post, board, request.getAttachmentIds());
+            post.setAttachmentCount(post.getAttachments().size());
+        }
+        
+        Post saved = postRepository.save(post);
+        postRevisionService.recordCreated(saved);
+        contentCounterService.postAdded(board.getId(), saved.getCategory());
+        postSearchEngine.index(saved);
+        postTagIndex.invalidateBoard(board.getId());
+        boardFeedCache.invalidateBoard(board.getId());
+        searchResultCache.invalidateBoard(board.getId());
+        postTitleAutocomplete.refreshAfterCommit(List.of(saved.getId()));
+        if (Boolean.TRUE.equals(saved.getIsNotice())) {
+            invalidateNotices();
+        }
+        changeLogService.record(ChangeLog.ChangeScope.POST, String.valueOf(saved.getId()));
+        log.info("Post created: {} in board {}", saved.getId(), board.getId());
+        return convertToPostDto(saved);
+    }
+    
+    @Transactional
+    public PostDto updatePost(Long postId, PostUpdateRequest request, Long userId) {
+        Post post = postRepository.findByIdForUpdate(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+        checkAuthor(post.getAuthor(), userId, "post");
+        String previousCategory = post.getCategory();
+        String previousTitle = post.getTitle();
+        String previousContent = post.getContent();
+        
+        post.setTitle(request.getTitle());
+        post.setContent(request.getContent());
+        post.setCategory(request.getCategory());
+        if (request.getPostType() != null) {
+            post.setPostType(request.getPostType());
+        }
+        if (request.getIsPinned() != null) {
+            post.setIsPinned(request.getIsPinned());
+        }
+        if (request.getAllowComments() != null) {
+            post.setAllowComments(request.getAllowComments());
+        }
+        if (request.getMetadata() != null) {
+            post.setMetadata(request.getMetadata());
+        }
+        if (request.getTags() != null) {
+            post.getTags().clear();
+            post.getTags().addAll(PostTagIndex.normalize(request.getTags()));
+        }
+        if (request.getIsSecret() != null) {
+            applySecret(post, request.getIsSecret(), request.getSecretPassword());
+        }
+        boolean wasNotice = Boolean.TRUE.equals(post.getIsNotice());
+        if (request.getIsNotice() != null) {
+            applyNotice(post, request.getIsNotice(), request.getNoticeStartDate(), request.getNoticeEndDate());
+        }
+        if (wasNotice || Boolean.TRUE.equals(post.getIsNotice())) {
+            invalidateNotices();
+        }
+        if (request.getAttachmentIds() != null) {
+            post.getAttachments().clear();
+            attachFiles(post, post.getBoard(), request.getAttachmentIds());
+            post.setAttachmentCount(post.getAttachments().size());
+        }
+        
+        Post saved = postRepository.save(post);
+        if (!Objects.equals(previousTitle, saved.getTitle()) || !Objects.equals(previousContent, saved.getContent())) {
+            postRevisionService.recordEdit(saved, previousTitle, previousContent, userId);
+        }
+        if (!Boolean.TRUE.equals(saved.getIsDraft())) {
+            contentCounterService.categoryChanged(saved.getBoard().getId(), previousCategory, saved.getCategory());
+        }
+        postSearchEngine.index(saved);
+        postTagIndex.invalidateBoard(saved.getBoard().getId());
+        boardFeedCache.invalidateBoard(saved.getBoard().getId());
+        searchResultCache.invalidateBoard(saved.getBoard().getId());
+        postTitleAutocomplete.refreshAfterCommit(List.of(saved.getId()));
+        postDetailCache.invalidate(saved.getId());
+        changeLogService.record(ChangeLog.ChangeScope.POST, String.valueOf(saved.getId()));
+        log.info("Post updated: {}", saved.getId());
+        return convertToPostDto(saved);
+    }
+    
+    @Transactional
+    public void deletePost(Long postId, Long userId) {
+        Post post = findPost(postId);
+        checkAuthor(post.getAuthor(), userId, "post");
+        
+        bulkDeleteService.deletePosts(List.of(postId));
+        if (!Boolean.TRUE.equals(post.getIsDraft())) {
+            contentCounterService.postRemoved(post.getBoard().getId(), post.getCategory());
+        }
+        postSearchEngine.remove(postId);
+        postTagIndex.invalidateBoard(post.getBoard().getId());
+        boardFeedCache.invalidateBoard(post.getBoard().getId());
+        searchResultCache.invalidateBoard(post.getBoard().getId());
+        postTitleAutocomplete.refreshAfterCommit(List.of(postId));
+        postDetailCache.invalidate(postId);
+        if (Boolean.TRUE.equals(post.getIsNotice())) {
+            invalidateNotices();
+        }
+        TransactionUtils.afterCommit(() -> popularPostRanking.remove(postId));
+        changeLogService.record(ChangeLog.ChangeScope.POST, String.valueOf(postId));
+        log.info("Post deleted: {}", postId);
+    }
+    
+    /**
+     * Revisions of the post, newest first. Only its author and administrators see its history.
+     */
+    public List<PostRevisionDto> getPostRevisions(Long postId, Long userId) {
+        checkRevisionAccess(findPost(postId), userId);
+        return postRevisionService.getRevisions(postId);
+    }
+    
+    public PostRevisionDto getPostRevision(Long postId, Integer revisionNumber, Long userId) {
+        Post post = findPost(postId);
+        checkRevisionAccess(post, userId);
+        return postRevisionService.getRevision(post, revisionNumber);
+    }
+    
+    /**
+     * Toggles the user's like and returns the resulting state with the updated count.
+     */
+    @Transactional
+    public LikeStatusDto togglePostLike(Long postId, Long userId) {
+        LikeStatusDto status = likeService.toggle(ContentLike.TargetType.POST, postId, userId);
+        TransactionUtils.afterCommit(() -> {
+            popularPostRanking.onLike(postId, status.isLiked());
+            postDetailCache.onLike(postId, status.getLikeCount());
+        });
+        return status;
+    }
+    
+    public Long getPostLikeCount(Long postId) {
+        return likeService.getLikeCount(ContentLike.TargetType.POST, postId);
+    }
+    
+    // Comments
+    
+    /**
+     * Returns the post's comment threads, loaded in one query and assembled in memory.
+     * Deleted comments are left out unless requested, except as placeholders for live replies.
+     */
+    public List<CommentDto> getCommentsByPost(Long postId, Boolean includeDeleted) {
+        findPost(postId);
+        List<CommentDto> roots = buildThreads(commentRepository.findWithAuthorByPostId(postId));
+        if (!Boolean.TRUE.equals(includeDeleted)) {
+            pruneDeleted(roots);
+        }
+        return roots;
+    }
+    
+    /**
+     * One page of the post's threads, oldest first, each with at most {@code replies} of its
+     * replies; threads cut short carry a cursor for {@link #getReplies}. Loads the page's root
+     * ids, the leading reply ids of those roots and then all of the comments in one query.
+     */
+    public CursorPage<CommentDto> getCommentThreads(Long postId, String cursor, Integer size, Integer replies,
+                                                    Boolean includeDeleted) {
+        findPost(postId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.clampSize(size);
+        int replyLimit = replies == null ? DEFAULT_REPLY_PREVIEW : Math.max(0, Math.min(replies, KeysetCursor.MAX_SIZE));
+        
+        List<Long> rootIds = after == null
+                ? commentRepository.findFirstRootIds(postId, KeysetCursor.limit(limit))
+                : commentRepository.findRootIdsAfter(postId, after.getCreatedAt(), after.getId(), KeysetCursor.limit(limit));
+        boolean hasNext = rootIds.size() > limit;
+        if (hasNext) {
+            rootIds = rootIds.subList(0, limit);
+        }
+        if (rootIds.isEmpty()) {
+            return CursorPage.<CommentDto>builder().content(new ArrayList<>()).size(0).hasNext(false).build();
+        }
+        
+        // One reply past the limit tells whether a thread has more
+        List<Long> ids = new ArrayList<>(rootIds);
+        ids.addAll(commentRepository.findLeadingReplyIds(rootIds, replyLimit + 1));
+        List<Comment> comments = new ArrayList<>(commentRepository.findWithAuthorByIdIn(ids));
+        comments.sort(Comparator.comparing(Comment::getCreatedAt).thenComparing(Comment::getId));
+        
+        Map<Long, Comment> rootsById = new HashMap<>();
+        Map<Long, List<Comment>> repliesByRoot = new HashMap<>();
+        for (Comment comment : comments) {
+            if (comment.getRootId() == null) {
+                rootsById.put(comment.getId(), comment);
+            } else {
+                repliesByRoot.computeIfAbsent(comment.getRootId(), id -> new ArrayList<>()).add(comment);
+            }
+        }
+        
+        List<CommentDto> threads = new ArrayList<>(rootIds.size());
+        for (Long rootId : rootIds) {
+            List<Comment> thread = new ArrayList<>();
+            thread.add(rootsById.get(rootId));
+            List<Comment> threadReplies = repliesByRoot.getOrDefault(rootId, Collections.emptyList());
+            boolean truncated = threadReplies.size() > replyLimit;
+            if (truncated) {
+                threadReplies = threadReplies.subList(0, replyLimit);
+            }
+            thread.addAll(threadReplies);
+            
+            CommentDto root = buildThreads(thread).get(0);
+            if (truncated) {
+                Comment last = thread.get(thread.size() - 1);
+                root.setHasMoreReplies(true);
+                root.setRepliesCursor(last.getRootId() != null
+                        ? KeysetCursor.of(last.getCreatedAt(), last.getId()).encode() : null);
+            }
+            threads.add(root);
+        }
+        
+        Comment lastRoot = rootsById.get(rootIds.get(rootIds.size() - 1));
+        if (!Boolean.TRUE.equals(includeDeleted)) {
+            pruneDeleted(threads);
+        }
+        return CursorPage.<CommentDto>builder()
+                .content(threads)
+                .size(threads.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? KeysetCursor.of(lastRoot.getCreatedAt(), lastRoot.getId()).encode() : null)
+                .build();
+    }
+    
+    /**
+     * Replies of the comment's thread after {@code cursor}, oldest first and flat; each carries
+     * its parent id so clients can attach it. Deleted replies come back without content, as
+     * later replies may still hang off them.
+     */
+    public CursorPage<CommentDto> getReplies(Long commentId, String cursor, Integer size) {
+        Comment comment = findComment(commentId);
+        Long rootId = comment.getRootId() != null ? comment.getRootId() : comment.getId();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.clampSize(size);
+        List<Comment> replies = after == null
+                ? commentRepository.findFirstReplies(rootId, KeysetCursor.limit(limit))
+                : commentRepository.findRepliesAfter(rootId, after.getCreatedAt(), after.getId(), KeysetCursor.limit(limit));
+        return KeysetCursor.page(replies, limit, Comment::getCreatedAt, Comment::getId, reply -> {
+            CommentDto dto = convertToCommentDto(reply);
+            if (Boolean.TRUE.equals(dto.getIsDeleted())) {
+                dto.setContent(null);
+            }
+            return dto;
+        });
+    }
+    
+    @Transactional
+    public CommentDto createComment(CommentCreateRequest request, Long userId) {
+        Post post = findPost(request.getPostId());
+        if (Boolean.FALSE.equals(post.getAllowComments()) || Boolean.FALSE.equals(post.getBoard().getUseComment())) {
+            throw new BadRequestException("Comments are not allowed on this post");
+        }
+        User author = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        Comment parent = null;
+        if (request.getParentId() != null) {
+            parent = findComment(request.getParentId());
+            if (!parent.getPost().getId().equals(post.getId())) {
+                throw new BadRequestException("Parent comment belongs to another post");
+            }
+        }
+        
+        boolean secret = Boolean.TRUE.equals(request.getIsSecret());
+        Comment comment = Comment.builder()
+                .post(post)
+                .author(author)
+                .content(request.getContent())
+                .parent(parent)
+                .rootId(parent == null ? null : parent.getRootId() != null ? parent.getRootId() : parent.getId())
+                .children(new ArrayList<>())
+                .likeCount(0L)
+                .dislikeCount(0L)
+                .isDeleted(false)
+                .isAnonymous(Boolean.TRUE.equals(request.getIsAnonymous()))
+                .isSecret(secret)
+                .secretPassword(secret && request.getSecretPassword() != null
+                        ? passwordEncoder.encode(request.getSecretPassword()) : null)
+                .metadata(request.getMetadata())
+                .build();
+        
+        Comment saved = commentRepository.save(comment);
+        contentCounterService.commentAdded(post.getId());
+        postDetailCache.invalidate(post.getId());
+        log.info("Comment created: {} on post {}", saved.getId(), post.getId());
+        return convertToCommentDto(saved);
+    }
+    
+    @Transactional
+    public CommentDto updateComment(Long commentId, String content, Long userId) {
+        Comment comment = findComment(commentId);
+        checkAuthor(comment.getAuthor(), userId, "comment");
+        if (Boolean.TRUE.equals(comment.getIsDeleted())) {
+            throw new BadRequestException("Deleted comments cannot be edited");
+        }
+        
+        comment.setContent(content);
+        return convertToCommentDto(commentRepository.save(comment));
+    }
+    
+    @Transactional
+    public void deleteComment(Long commentId, Long userId) {
+        Comment comment = findComment(commentId);
+        checkAuthor(comment.getAuthor(), userId, "comment");
+        
+        // Soft delete keeps replies attached to their thread
+        comment.setIsDeleted(true);
+        commentRepository.save(comment);
+        postDetailCache.invalidate(comment.getPost().getId());
+        log.info("Comment deleted: {}", commentId);
+    }
+    
+    @Transactional
+    public LikeStatusDto toggleCommentLike(Long commentId, Long userId) {
+        return likeService.toggle(ContentLike.TargetType.COMMENT, commentId, userId);
+    }
+    
+    public Long getCommentLikeCount(Long commentId) {
+        return likeService.getLikeCount(ContentLike.TargetType.COMMENT, commentId);
+    }
+    
+    // Search
+    
+    public Page<PostDto> searchPosts(String keyword, String searchType, Long boardId, String dateFrom,
+                                     String dateTo, Pageable pageable) {
+        PostSearchQuery query = PostSearchQuery.keyword(keyword)
+                .field(PostSearchQuery.Field.from(searchType))
+                .boardId(boardId)
+                .from(parseDateBound(dateFrom, false))
+                .to(parseDateBound(dateTo, true))
+                .build();
+        return loadSearchResults(searchResultCache.search(query, pageable));
+    }
+    
+    public List<SearchQueryStatsDto> getSearchCacheStats(Integer limit) {
+        return searchResultCache.getStats(limit != null && limit > 0 ? limit : 50);
+    }
+    
+    /**
+     * Most popular recent posts by time-decayed views and likes, served from the in-memory
+     * {@link PopularPostRanking}. Falls back to lifetime counts until the ranking has data.
+     */
+    public List<PostDto> getPopularPosts(Integer days, Integer limit) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        List<PostDto> ranked = getPopularSnapshot().posts;
+        if (ranked.isEmpty()) {
+            return convertSummaries(postRepository.findPopularSummaries(since, PageRequest.of(0, limit)));
+        }
+        return ranked.stream()
+                .filter(post -> post.getCreatedAt() != null && !post.getCreatedAt().isBefore(since))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Notices active now, newest first, served from the in-memory {@link NoticeSchedule}. The
+     * database is read only after a post write has invalidated the schedule, so no
+     * transaction (and connection) is opened up front.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PostDto> getActiveNotices() {
+        NoticeSchedule schedule = noticeSchedule;
+        if (schedule == null) {
+            schedule = loadNoticeSchedule();
+        }
+        return schedule.activeAt(LocalDateTime.now());
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        // Other nodes' post changes carry no notice flag; reloading the schedule is cheap
+        if (event.getScope() == ChangeLog.ChangeScope.POST) {
+            noticeGeneration.incrementAndGet();
+            noticeSchedule = null;
+        }
+    }
+    
+    public List<CommentDto> getRecentComments(Integer limit) {
+        return commentRepository.findRecentComments(PageRequest.of(0, limit)).stream()
+                .map(this::convertToCommentDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Pages through matching post ids (ascending) newest first; ids grow with creation time.
+     */
+    private Page<PostDto> loadTaggedPage(long[] ids, Pageable pageable) {
+        long offset = pageable.getOffset();
+        List<Long> pageIds = new ArrayList<>(pageable.getPageSize());
+        for (long i = ids.length - 1 - offset; i >= 0 && pageIds.size() < pageable.getPageSize(); i--) {
+            pageIds.add(ids[(int) i]);
+        }
+        List<PostDto> content = convertSummaries(findSummariesInOrder(pageIds));
+        return new PageImpl<>(content, pageable, ids.length);
+    }
+    
+    private Page<PostDto> loadSearchResults(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), ids.getPageable(), ids.getTotalElements());
+        }
+        // Keep the engine's order; posts deleted since the search simply drop out
+        List<PostDto> content = convertSummaries(findSummariesInOrder(ids.getContent()));
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+    
+    private void applyBoardRequest(Board board, BoardCreateRequest request) {
+        try {
+            board.setBoardType(Board.BoardType.valueOf(request.getBoardType().trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid board type: " + request.getBoardType());
+        }
+        board.setBoardName(request.getName());
+        board.setDescription(request.getDescription());
+        board.setIsActive(!Boolean.FALSE.equals(request.getIsActive()));
+        board.setIsPublic(!Boolean.FALSE.equals(request.getIsPublic()));
+        board.setUseComment(!Boolean.FALSE.equals(request.getAllowComments()));
+        board.setUseAttachment(!Boolean.FALSE.equals(request.getAllowAttachments()));
+        board.setAttachmentSizeLimit(request.getMaxAttachmentSize());
+        board.setAttachmentLimit(request.getMaxAttachmentCount());
+        board.setSortOrder(request.getSortOrder() != null ? request.getSortOrder() : 0);
+    }
+    
+    private void applySecret(Post post, Boolean isSecret, String secretPassword) {
+        boolean secret = Boolean.TRUE.equals(isSecret);
+        post.setIsSecret(secret);
+        if (!secret) {
+            post.setSecretPassword(null);
+        } else if (secretPassword != null && !secretPassword.isEmpty()) {
+            post.setSecretPassword(passwordEncoder.encode(secretPassword));
+        }
+    }
+    
+    private void applyNotice(Post post, Boolean isNotice, LocalDateTime startDate, LocalDateTime endDate) {
+        boolean notice = Boolean.TRUE.equals(isNotice);
+        if (notice && !isAdmin()) {
+            throw new AccessDeniedException("Only administrators can post notices");
+        }
+        if (notice && startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new BadRequestException("Notice end date must not be before its start date");
+        }
+        post.setIsNotice(notice);
+        post.setNoticeStartDate(notice ? startDate : null);
+        post.setNoticeEndDate(notice ? endDate : null);
+    }
+    
+    private void invalidateNotices() {
+        TransactionUtils.afterCommit(() -> {
+            noticeGeneration.incrementAndGet();
+            noticeSchedule = null;
+        });
+    }
+    
+    private NoticeSchedule loadNoticeSchedule() {
+        synchronized (noticeGeneration) {
+            NoticeSchedule schedule = noticeSchedule;
+            if (schedule != null) {
+                return schedule;
+            }
+            long generation = noticeGeneration.get();
+            List<Object[]> rows = postRepository.findCurrentAndUpcomingNotices(LocalDateTime.now());
+            List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+            Map<Long, PostDto> posts = convertSummaries(findSummariesInOrder(ids)).stream()
+                    .collect(Collectors.toMap(PostDto::getId, Function.identity()));
+            
+            List<NoticeSchedule.Entry> entries = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                PostDto post = posts.get((Long) row[0]);
+                if (post != null) {
+                    entries.add(new NoticeSchedule.Entry(post, (LocalDateTime) row[1], (LocalDateTime) row[2]));
+                }
+            }
+            schedule = entries.isEmpty() ? NoticeSchedule.EMPTY : new NoticeSchedule(entries);
+            if (noticeGeneration.get() == generation) {
+                noticeSchedule = schedule;
+            }
+            return schedule;
+        }
+    }
+    
+    private void attachFiles(Post post, Board board, List<Long> fileIds) {
+        if (fileIds.isEmpty()) {
+            return;
+        }
+        if (Boolean.FALSE.equals(board.getUseAttachment())) {
+            throw new BadRequestException("Attachments are not allowed on this board");
+        }
+        if (board.getAttachmentLimit() != null && fileIds.size() > board.getAttachmentLimit()) {
+            throw new BadRequestException("Too many attachments (max " + board.getAttachmentLimit() + ")");
+        }
+        
+        List<FileEntity> files = fileRepository.findAllById(fileIds);
+        if (files.size() != new HashSet<>(fileIds).size()) {
+            throw new ResourceNotFoundException("File not found");
+        }
+        for (FileEntity file : files) {
+            if (board.getAttachmentSizeLimit() != null && file.getFileSize() != null
+                    && file.getFileSize() > board.getAttachmentSizeLimit()) {
+                throw new BadRequestException("Attachment exceeds the board size limit: " + file.getOriginalName());
+            }
+            post.getAttachments().add(PostAttachment.builder()
+                    .post(post)
+                    .fileName(file.getFileName())
+                    .originalName(file.getOriginalName())
+                    .filePath(file.getFilePath())
+                    .fileSize(file.getFileSize())
+                    .fileType(file.getFileType())
+                    .downloadCount(0L)
+                    .build());
+        }
+    }
+    
+    private boolean canReadSecret(Post post, String secretPassword) {
+        if (isAdmin()) {
+            return true;
+        }
+        return secretPassword != null && post.getSecretPassword() != null
+                && passwordEncoder.matches(secretPassword, post.getSecretPassword());
+    }
+    
+    private void checkAuthor(User author, Long userId, String target) {
+        if (!author.getId().equals(userId) && !isAdmin()) {
+            throw new AccessDeniedException("You can only modify your own " + target);
+        }
+    }
+    
+    private void checkRevisionAccess(Post post, Long userId) {
+        if (!post.getAuthor().getId().equals(userId) && !isAdmin()) {
+            throw new AccessDeniedException("Only the author can see the revisions of this post");
+        }
+    }
+    
+    private boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+    
+    private PopularSnapshot getPopularSnapshot() {
+        PopularSnapshot snapshot = popularSnapshot;
+        if (snapshot != null && !snapshot.isStale(popularPostRanking.getVersion())) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = popularSnapshot;
+            long version = popularPostRanking.getVersion();
+            if (snapshot == null || snapshot.isStale(version)) {
+                List<PostDto> dtos = convertSummaries(findSummariesInOrder(popularPostRanking.getRanking()));
+                snapshot = new PopularSnapshot(version, System.currentTimeMillis(), Collections.unmodifiableList(dtos));
+                popularSnapshot = snapshot;
+            }
+            return snapshot;
+        }
+    }
+    
+    private static LocalDateTime parseDateBound(String value, boolean endOfDay) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfDay ? date.atTime(LocalTime.MAX) : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date: " + value);
+        }
+    }
+    
+    /**
+     * Links comments (sorted oldest first) into threads. Comments whose parent is not in the
+     * list become roots.
+     */
+    private List<CommentDto> buildThreads(List<Comment> comments) {
+        Map<Long, CommentDto> byId = new LinkedHashMap<>();
+        for (Comment comment : comments) {
+            byId.put(comment.getId(), convertToCommentDto(comment));
+        }
+        
+        List<CommentDto> roots = new ArrayList<>();
+        for (CommentDto dto : byId.values()) {
+            CommentDto parent = dto.getParentId() != null ? byId.get(dto.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(dto);
+            } else {
+                roots.add(dto);
+            }
+        }
+        return roots;
+    }
+    
+    private static void pruneDeleted(List<CommentDto> comments) {
+        pruneDeleted(comments, false);
+    }
+    
+    /**
+     * In a thread whose replies were cut off ({@code partial}) a deleted comment that looks
+     * like a leaf may still have replies, so it stays as a placeholder.
+     */
+    private static void pruneDeleted(List<CommentDto> comments, boolean partial) {
+        Iterator<CommentDto> iterator = comments.iterator();
+        while (iterator.hasNext()) {
+            CommentDto comment = iterator.next();
+            boolean partialThread = partial || Boolean.TRUE.equals(comment.getHasMoreReplies());
+            pruneDeleted(comment.getChildren(), partialThread);
+            if (Boolean.TRUE.equals(comment.getIsDeleted())) {
+                if (comment.getChildren().isEmpty() && !partialThread) {
+                    iterator.remove();
+                } else {
+                    comment.setContent(null);
+                }
+            }
+        }
+    }
+    
+    private Board findBoard(Long boardId) {
+        return boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
+    }
+    
+    private Post findPost(Long postId) {
+        return postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+    }
+    
+    private Comment findComment(Long commentId) {
+        return commentRepository.findById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
+    }
+    
+    private BoardDto convertToBoardDto(Board board) {
+        Map<String, Long> categoryCounts = new LinkedHashMap<>();
+        if (board.getId() != null) {
+            for (BoardCategoryCount count : boardCategoryCountRepository.findByBoardId(board.getId())) {
+                categoryCounts.put(count.getId().getCategory(), count.getPostCount());
+            }
+        }
+        return convertToBoardDto(board, categoryCounts);
+    }
+    
+    private BoardDto convertToBoardDto(Board board, Map<String, Long> categoryCounts) {
+        return BoardDto.builder()
+                .id(board.getId())
+                .boardType(board.getBoardType())
+                .boardName(board.getBoardName())
+                .description(board.getDescription())
+                .useComment(board.getUseComment())
+                .useAttachment(board.getUseAttachment())
+                .useSecret(board.getUseSecret())
+                .useReply(board.getUseReply())
+                .useCategory(board.getUseCategory())
+                .attachmentLimit(board.getAttachmentLimit())
+                .attachmentSizeLimit(board.getAttachmentSizeLimit())
+                .allowedExtensions(board.getAllowedExtensions())
+                .isActive(board.getIsActive())
+                .isPublic(board.getIsPublic())
+                .sortOrder(board.getSortOrder())
+                .postCount(board.getPostCount() != null ? board.getPostCount() : 0L)
+                .categoryCounts(categoryCounts)
+                .createdAt(board.getCreatedAt())
+                .updatedAt(board.getUpdatedAt())
+                .build();
+    }
+    
+    /**
+     * Secret posts only expose their content on the detail endpoint, after the password check.
+     */
+    private PostDto convertToPostDto(Post post) {
+        boolean anonymous = Boolean.TRUE.equals(post.getIsAnonymous());
+        long viewCount = (post.getViewCount() != null ? post.getViewCount() : 0L) + postViewCounter.getPending(post.getId());
+        long uniqueViewCount = post.getUniqueViewCount() != null ? post.getUniqueViewCount() : 0L;
+        return PostDto.builder()
+                .id(post.getId())
+                .boardId(post.getBoard().getId())
+                .boardName(post.getBoard().getBoardName())
+                .authorId(anonymous ? null : post.getAuthor().getId())
+                .authorName(anonymous ? ANONYMOUS_NAME : post.getAuthor().getFullName())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .category(post.getCategory())
+                .viewCount(viewCount)
+                .uniqueViewCount(Math.min(uniqueViewCount, viewCount))
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount() != null ? post.getCommentCount() : 0L)
+                .attachmentCount(post.getAttachmentCount())
+                .tags(post.getTags() != null ? new ArrayList<>(post.getTags()) : new ArrayList<>())
+                .isNotice(post.getIsNotice())
+                .isPinned(post.getIsPinned())
+                .isSecret(post.getIsSecret())
+                .postType(post.getPostType())
+                .allowComments(post.getAllowComments())
+                .isAnonymous(post.getIsAnonymous())
+                .metadata(post.getMetadata())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+    
+    /**
+     * Summaries of the published posts among {@code ids}, in the order given.
+     */
+    private List<PostSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, PostSummary> byId = postRepository.findPublishedSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * List-page DTOs without content or metadata. Board names and tags for the whole page are
+     * loaded with one query each; counts come from the denormalized columns.
+     */
+    private List<PostDto> convertSummaries(List<PostSummary> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> postIds = rows.stream().map(PostSummary::getId).collect(Collectors.toSet());
+        Set<Long> boardIds = rows.stream().map(PostSummary::getBoardId).collect(Collectors.toSet());
+        
+        Map<Long, String> boardNames = new HashMap<>();
+        for (Board board : boardRepository.findAllById(boardIds)) {
+            boardNames.put(board.getId(), board.getBoardName());
+        }
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Object[] row : postRepository.findTagsByPostIdIn(postIds)) {
+            tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        
+        List<PostDto> dtos = new ArrayList<>(rows.size());
+        for (PostSummary row : rows) {
+            boolean anonymous = Boolean.TRUE.equals(row.getIsAnonymous());
+            long viewCount = (row.getViewCount() != null ? row.getViewCount() : 0L) + postViewCounter.getPending(row.getId());
+            long uniqueViewCount = row.getUniqueViewCount() != null ? row.getUniqueViewCount() : 0L;
+            dtos.add(PostDto.builder()
+                    .id(row.getId())
+                    .boardId(row.getBoardId())
+                    .boardName(boardNames.get(row.getBoardId()))
+                    .authorId(anonymous ? null : row.getAuthorId())
+                    .authorName(anonymous ? ANONYMOUS_NAME : row.getAuthorFirstName() + " " + row.getAuthorLastName())
+                    .title(row.getTitle())
+                    .category(row.getCategory())
+                    .viewCount(viewCount)
+                    .uniqueViewCount(Math.min(uniqueViewCount, viewCount))
+                    .likeCount(row.getLikeCount())
+                    .commentCount(row.getCommentCount())
+                    .attachmentCount(row.getAttachmentCount())
+                    .tags(tags.getOrDefault(row.getId(), new ArrayList<>()))
+                    .isNotice(row.getIsNotice())
+                    .isPinned(row.getIsPinned())
+                    .isSecret(row.getIsSecret())
+                    .postType(row.getPostType())
+                    .allowComments(row.getAllowComments())
+                    .isAnonymous(row.getIsAnonymous())
+                    .createdAt(row.getCreatedAt())
+                    .updatedAt(row.getUpdatedAt())
+                    .build());
+        }
+        return dtos;
+    }
+    
+    private CommentDto convertToCommentDto(Comment comment) {
+        boolean anonymous = Boolean.TRUE.equals(comment.getIsAnonymous());
+        return CommentDto.builder()
+                .id(comment.getId())
+                .postId(comment.getPost().getId())
+                .authorId(anonymous ? null : comment.getAuthor().getId())
+                .authorName(anonymous ? ANONYMOUS_NAME : comment.getAuthor().getFullName())
+                .content(Boolean.TRUE.equals(comment.getIsSecret()) ? null : comment.getContent())
+                .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
+                .level(comment.getCommentLevel())
+                .likeCount(comment.getLikeCount())
+                .isDeleted(comment.getIsDeleted())
+                .createdAt(comment.getCreatedAt())
+                .children(new ArrayList<>())
+                .build();
+    }
+    
+    private static final class PopularSnapshot {
+        
+        private final long version;
+        private final long builtAt;
+        private final List<PostDto> posts;
+        
+        PopularSnapshot(long version, long builtAt, List<PostDto> posts) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.posts = posts;
+        }
+        
+        boolean isStale(long currentVersion) {
+            long age = System.currentTimeMillis() - builtAt;
+            return age > POPULAR_MAX_REFRESH_MS || (currentVersion != version && age > POPULAR_MIN_REFRESH_MS);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.company.common.service;
+
+import com.company.common.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Set-based deletion of boards, posts, menu trees and code groups.
+ * <p>
+ * Their entity mappings cascade with orphan removal, so deleting through the repositories makes
+ * Hibernate load every post, comment, attachment or child menu and delete it row by row. Here the
+ * ids are read once and each dependent table is cleared with one statement per chunk of ids,
+ * children before parents, in the caller's transaction. Progress is logged per chunk. Files of
+ * deleted attachments are removed in the background after commit unless another attachment still
+ * uses them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkDeleteService {
+    
+    // Statements run for each chunk of post ids, in order
+    private static final Map<String, String> POST_CHUNK_SQL = new LinkedHashMap<>();
+    
+    static {
+        POST_CHUNK_SQL.put("comment likes",
+                "DELETE FROM content_likes WHERE target_type = 1 AND target_id IN (" +
+                "SELECT c.id FROM comments c WHERE c.post_id IN (:ids))");
+        POST_CHUNK_SQL.put("post likes",
+                "DELETE FROM content_likes WHERE target_type = 0 AND target_id IN (:ids)");
+        // Detaching replies first lets one statement delete whole threads
+        POST_CHUNK_SQL.put("comment replies detached",
+                "UPDATE comments SET parent_id = NULL WHERE post_id IN (:ids) AND parent_id IS NOT NULL");
+        POST_CHUNK_SQL.put("comments", "DELETE FROM comments WHERE post_id IN (:ids)");
+        POST_CHUNK_SQL.put("attachments", "DELETE FROM post_attachments WHERE post_id IN (:ids)");
+        POST_CHUNK_SQL.put("tags", "DELETE FROM post_tags WHERE post_id IN (:ids)");
+        POST_CHUNK_SQL.put("view sketches", "DELETE FROM post_view_sketches WHERE post_id IN (:ids)");
+        POST_CHUNK_SQL.put("revisions", "DELETE FROM post_revisions WHERE post_id IN (:ids)");
+        POST_CHUNK_SQL.put("posts", "DELETE FROM posts WHERE id IN (:ids)");
+    }
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FileService fileService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.bulk-delete.chunk-size:500}")
+    private int chunkSize;
+    
+    /**
+     * Deletes the board with the given posts (all of the board's posts) and everything under them.
+     */
+    public void deleteBoard(Long boardId, List<Long> postIds) {
+        Progress progress = new Progress("board " + boardId);
+        deletePosts(postIds, progress);
+        MapSqlParameterSource params = new MapSqlParameterSource("boardId", boardId);
+        progress.add("category counts", jdbcTemplate.update("DELETE FROM board_category_counts WHERE board_id = :boardId", params));
+        progress.add("boards", jdbcTemplate.update("DELETE FROM boards WHERE id = :boardId", params));
+        progress.done();
+    }
+    
+    /**
+     * Deletes the posts with their comments, likes, attachments, tags, view sketches and revisions.
+     */
+    public void deletePosts(List<Long> postIds) {
+        Progress progress = new Progress(postIds.size() == 1 ? "post " + postIds.get(0) : postIds.size() + " posts");
+        deletePosts(postIds, progress);
+        progress.done();
+    }
+    
+    /**
+     * Deletes the menu, its descendants and their role and user permissions.
+     */
+    public void deleteMenuTree(Long menuId) {
+        flush();
+        Progress progress = new Progress("menu " + menuId);
+        // Menus level by level from the root; a visited set guards against a corrupt parent chain
+        List<List<Long>> levels = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        List<Long> level = List.of(menuId);
+        visited.add(menuId);
+        while (!level.isEmpty()) {
+            levels.add(level);
+            List<Long> next = new ArrayList<>();
+            for (List<Long> chunk : chunks(level)) {
+                for (Long childId : jdbcTemplate.queryForList("SELECT id FROM menus WHERE parent_id IN (:ids)",
+                        new MapSqlParameterSource("ids", chunk), Long.class)) {
+                    if (visited.add(childId)) {
+                        next.add(childId);
+                    }
+                }
+            }
+            level = next;
+        }
+        
+        int total = visited.size();
+        int deleted = 0;
+        for (int depth = levels.size() - 1; depth >= 0; depth--) {
+            for (List<Long> chunk : chunks(levels.get(depth))) {
+                MapSqlParameterSource params = new MapSqlParameterSource("ids", chunk);
+                progress.add("role permissions", jdbcTemplate.update("DELETE FROM role_menu_permissions WHERE menu_id IN (:ids)", params));
+                progress.add("user permissions", jdbcTemplate.update("DELETE FROM user_menu_permissions WHERE menu_id IN (:ids)", params));
+                progress.add("menus", jdbcTemplate.update("DELETE FROM menus WHERE id IN (:ids)", params));
+                deleted += chunk.size();
+                progress.chunk(deleted, total, "menus");
+            }
+        }
+        progress.done();
+    }
+    
+    /**
+     * Deletes the code group and its items.
+     */
+    public void deleteCodeGroup(Long groupId) {
+        flush();
+        Progress progress = new Progress("code group " + groupId);
+        MapSqlParameterSource params = new MapSqlParameterSource("groupId", groupId);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM code_items WHERE group_id = :groupId", params, Long.class);
+        int deleted = 0;
+        for (List<Long> chunk : chunks(itemIds)) {
+            progress.add("code items", jdbcTemplate.update("DELETE FROM code_items WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk)));
+            deleted += chunk.size();
+            progress.chunk(deleted, itemIds.size(), "code items");
+        }
+        progress.add("code groups", jdbcTemplate.update("DELETE FROM code_groups WHERE id = :groupId", params));
+        progress.done();
+    }
+    
+    private void deletePosts(List<Long> postIds, Progress progress) {
+        flush();
+        Set<String> filePaths = new HashSet<>();
+        int deleted = 0;
+        for (List<Long> chunk : chunks(postIds)) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", chunk);
+            filePaths.addAll(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT file_path FROM post_attachments WHERE post_id IN (:ids)", params, String.class));
+            for (Map.Entry<String, String> statement : POST_CHUNK_SQL.entrySet()) {
+                progress.add(statement.getKey(), jdbcTemplate.update(statement.getValue(), params));
+            }
+            deleted += chunk.size();
+            progress.chunk(deleted, postIds.size(), "posts");
+        }
+        if (!filePaths.isEmpty()) {
+            TransactionUtils.afterCommit(() -> fileService.removeDetachedFiles(filePaths));
+        }
+    }
+    
+    // Pending entity changes must reach the database before rows are deleted under them
+    private void flush() {
+        entityManager.flush();
+    }
+    
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Rows affected per table for one deletion, logged as it goes.
+     */
+    private static final class Progress {
+        
+        private final String subject;
+        private final Map<String, Integer> rows = new LinkedHashMap<>();
+        private final long startedAt = System.currentTimeMillis();
+        
+        Progress(String subject) {
+            this.subject = subject;
+        }
+        
+        void add(String table, int count) {
+            rows.merge(table, count, Integer::sum);
+        }
+        
+        void chunk(int done, int total, String unit) {
+            if (done < total) {
+                log.info("Deleting {}: {}/{} {}", subject, done, total, unit);
+            }
+        }
+        
+        void done() {
+            log.info("Deleted {} in {} ms: {}", subject, System.currentTimeMillis() - startedAt, rows);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.company.common.service;
+
+import com.company.common.entity.ChangeLog;
+import com.company.common.repository.ChangeLogRepository;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Propagates cache invalidations between application nodes sharing one database.
+ * <p>
+ * Writers call {@link #record} inside their transaction, so a change-log row is committed
+ * atomically with the change itself. Every node polls the table incrementally by id and
+ * replays rows written by other nodes: Spring caches are evicted here, and in-memory
+ * snapshots refresh themselves by listening for {@link RemoteChangeEvent}. An optional
+ * {@link ChangeNotifier} (e.g. PostgreSQL LISTEN/NOTIFY) triggers a poll immediately.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeLogService {
+    
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final int FULL_REFRESH_THRESHOLD = 200;
+    private static final int MAX_TRACKED_GAPS = 1000;
+    private static final long GAP_TIMEOUT_MILLIS = 60_000L;
+    
+    private final ChangeLogRepository changeLogRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Optional<ChangeNotifier> changeNotifier;
+    
+    @Value("${app.change-log.retention-hours:24}")
+    private long retentionHours;
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Object notifyKey = new Object();
+    
+    // Guarded by "this"
+    private long lastSeenId = -1L;
+    // Ids skipped by the poller, possibly because their transaction had not committed yet
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    
+    @PostConstruct
+    public void initialize() {
+        // Caches and snapshots built from now on already reflect every committed change
+        synchronized (this) {
+            lastSeenId = changeLogRepository.findMaxId();
+        }
+        changeNotifier.ifPresent(notifier -> notifier.subscribe(this::pollQuietly));
+        log.info("Change log propagation started on node {} at id {}", nodeId, lastSeenId);
+    }
+    
+    /**
+     * Records a change within the current transaction. Other nodes replay it after commit.
+     *
+     * @param key changed key within the scope, or {@code null} to invalidate the whole scope
+     */
+    @Transactional
+    public void record(ChangeLog.ChangeScope scope, String key) {
+        changeLogRepository.save(ChangeLog.builder()
+                .scope(scope)
+                .entityKey(key)
+                .originNode(nodeId)
+                .build());
+        changeNotifier.ifPresent(notifier ->
+                TransactionUtils.afterCommitOnce(notifyKey, notifier::notifyChanged));
+    }
+    
+    /**
+     * Records several changed keys at once. Large sets collapse into one scope-wide entry,
+     * since other nodes would fall back to a full refresh for them anyway.
+     */
+    @Transactional
+    public void recordAll(ChangeLog.ChangeScope scope, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (keys.size() > FULL_REFRESH_THRESHOLD) {
+            record(scope, null);
+            return;
+        }
+        keys.forEach(key -> record(scope, key));
+    }
+    
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval-ms:5000}")
+    public void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Change log poll failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Reads change-log rows committed since the last poll and replays those written by
+     * other nodes. Returns the number of rows read.
+     */
+    public synchronized int poll() {
+        if (lastSeenId < 0) {
+            return 0;
+        }
+        
+        List<ChangeLog> changes = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            changes.addAll(changeLogRepository.findByIdIn(new ArrayList<>(gaps.keySet())));
+        }
+        
+        List<ChangeLog> batch;
+        do {
+            batch = changeLogRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, PageRequest.of(0, POLL_BATCH_SIZE));
+            for (ChangeLog change : batch) {
+                trackGaps(change.getId());
+                lastSeenId = change.getId();
+            }
+            changes.addAll(batch);
+        } while (batch.size() == POLL_BATCH_SIZE);
+        
+        changes.forEach(change -> gaps.remove(change.getId()));
+        expireGaps();
+        
+        replay(changes);
+        return changes.size();
+    }
+    
+    @Transactional
+    @Scheduled(cron = "${app.change-log.cleanup-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        int deleted = changeLogRepository.deleteByCreatedAtBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} change log entries", deleted);
+        }
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    /**
+     * Identity ids are assigned at insert time but become visible at commit time, so a
+     * jump in ids may hide a row whose transaction is still open. Such ids are re-checked
+     * on the following polls until they appear or time out (rolled back).
+     */
+    private void trackGaps(long id) {
+        long now = System.currentTimeMillis();
+        for (long missing = lastSeenId + 1; missing < id && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+            gaps.put(missing, now);
+        }
+    }
+    
+    private void expireGaps() {
+        long cutoff = System.currentTimeMillis() - GAP_TIMEOUT_MILLIS;
+        gaps.values().removeIf(firstSeen -> firstSeen < cutoff);
+    }
+    
+    private void replay(List<ChangeLog> changes) {
+        Map<ChangeLog.ChangeScope, Set<String>> keysByScope = new EnumMap<>(ChangeLog.ChangeScope.class);
+        for (ChangeLog change : changes) {
+            if (nodeId.equals(change.getOriginNode())) {
+                continue;
+            }
+            keysByScope.computeIfAbsent(change.getScope(), scope -> new LinkedHashSet<>())
+                    .add(change.getEntityKey());
+        }
+        
+        keysByScope.forEach((scope, keys) -> {
+            Set<String> changed = keys.contains(null) || keys.size() > FULL_REFRESH_THRESHOLD
+                    ? null
+                    : Collections.unmodifiableSet(keys);
+            try {
+                evictCaches(scope, changed);
+                eventPublisher.publishEvent(new RemoteChangeEvent(scope, changed));
+                log.debug("Replayed remote {} change for {}", scope, changed != null ? changed : "all keys");
+            } catch (Exception e) {
+                log.error("Failed to replay remote {} change", scope, e);
+            }
+        });
+    }
+    
+    private void evictCaches(ChangeLog.ChangeScope scope, Set<String> keys) {
+        for (String cacheName : scope.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            if (keys != null && scope.isKeyedCache()) {
+                keys.forEach(cache::evict);
+            } else {
+                cache.clear();
+            }
+        }
+    }
+}
\ No newline at end of file
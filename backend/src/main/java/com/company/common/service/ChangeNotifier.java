@@ -0,0 +1,20 @@
+package com.company.common.service;
+
+/**
+ * Optional push transport for change-log notifications between nodes.
+ * <p>
+ * The change-log poller is always the source of truth; a notifier only wakes other
+ * nodes up early so they poll immediately instead of waiting for the next interval.
+ */
+public interface ChangeNotifier {
+    
+    /**
+     * Signals other nodes that new change-log rows have been committed.
+     */
+    void notifyChanged();
+    
+    /**
+     * Registers the callback invoked when another node signals a change.
+     */
+    void subscribe(Runnable onChange);
+}
\ No newline at end of file
@@ -0,0 +1,577 @@
+package com.company.common.service;
+
+import com.company.common.dto.code.CodeSuggestionDto;
+import com.company.common.entity.ChangeLog;
+import com.company.common.entity.CodeItem;
+import com.company.common.repository.CodeItemRepository;
+import com.company.common.util.LongIntHashMap;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory trigram index over active code items ({@code codeValue}, {@code codeLabel},
+ * {@code codeLabelEn}) serving search and autocomplete without touching the database.
+ *
+ * <p>Every token is indexed with its inner trigrams plus two boundary-padded prefix grams,
+ * so queries of three or more characters match substrings and shorter queries match
+ * token prefixes. Postings are sorted {@code int[]} doc lists; candidates from the gram
+ * intersection are verified against the stored text before ranking.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CodeSearchIndex {
+    
+    private static final char BOUNDARY = '\u0001';
+    private static final int LOAD_BATCH_SIZE = 5000;
+    
+    private static final int RANK_CODE_EXACT = 5;
+    private static final int RANK_CODE_PREFIX = 4;
+    private static final int RANK_LABEL_EXACT = 3;
+    private static final int RANK_LABEL_PREFIX = 2;
+    private static final int RANK_TOKEN = 1;
+    
+    private final CodeItemRepository codeItemRepository;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment(1024);
+    private List<Consumer<Segment>> pendingDuringRebuild;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        Segment fresh = new Segment(Math.max(1024, size()));
+        try {
+            long afterId = 0L;
+            List<CodeSuggestionDto> rows;
+            do {
+                rows = codeItemRepository.findSuggestionRowsAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (CodeSuggestionDto row : rows) {
+                    fresh.put(row);
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // Writes committed while we were loading are replayed onto the new segment
+                pendingDuringRebuild.forEach(mutation -> mutation.accept(fresh));
+                pendingDuringRebuild = null;
+                segment = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        log.info("Code search index built with {} items", fresh.liveCount());
+    }
+    
+    /**
+     * Indexes (or re-indexes) the item once the current transaction commits.
+     * Inactive items are removed from the index.
+     */
+    public void put(CodeItem item) {
+        if (!Boolean.TRUE.equals(item.getIsActive())) {
+            remove(item.getId());
+            return;
+        }
+        CodeSuggestionDto row = CodeSuggestionDto.builder()
+                .id(item.getId())
+                .groupCode(item.getCodeGroup() != null ? item.getCodeGroup().getGroupId() : null)
+                .code(item.getCodeValue())
+                .codeLabel(item.getCodeLabel())
+                .codeLabelEn(item.getCodeLabelEn())
+                .build();
+        TransactionUtils.afterCommit(() -> mutate(s -> s.put(row)));
+    }
+    
+    public void remove(Long itemId) {
+        TransactionUtils.afterCommit(() -> mutate(s -> s.remove(itemId)));
+    }
+    
+    public void removeGroup(String groupCode) {
+        TransactionUtils.afterCommit(() -> mutate(s -> s.removeGroup(groupCode)));
+    }
+    
+    /**
+     * Re-reads code items changed on another node from the database.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.CODE_ITEM && event.getScope() != ChangeLog.ChangeScope.CODE_GROUP) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            rebuild();
+            return;
+        }
+        for (String key : event.getKeys()) {
+            if (event.getScope() == ChangeLog.ChangeScope.CODE_ITEM) {
+                long itemId = Long.parseLong(key);
+                codeItemRepository.findSuggestionRowById(itemId)
+                        .ifPresentOrElse(row -> mutate(s -> s.put(row)), () -> mutate(s -> s.remove(itemId)));
+            } else {
+                List<CodeSuggestionDto> rows = codeItemRepository.findSuggestionRowsByGroupCode(key);
+                mutate(s -> {
+                    s.removeGroup(key);
+                    rows.forEach(s::put);
+                });
+            }
+        }
+    }
+    
+    /**
+     * Returns up to {@code limit} active items matching every token of {@code keyword},
+     * best matches first. {@code groupCode} restricts results to one code group when set.
+     */
+    public List<CodeSuggestionDto> search(String keyword, String groupCode, int limit) {
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            int[] docs = current.search(keyword, groupCode, limit);
+            List<CodeSuggestionDto> results = new ArrayList<>(docs.length);
+            for (int doc : docs) {
+                results.add(current.toDto(doc));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<Long> searchIds(String keyword, String groupCode, int limit) {
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            int[] docs = current.search(keyword, groupCode, limit);
+            List<Long> ids = new ArrayList<>(docs.length);
+            for (int doc : docs) {
+                ids.add(current.itemIds[doc]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void mutate(Consumer<Segment> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(segment);
+            if (segment.needsCompaction()) {
+                segment = segment.compacted();
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static long gram(char c0, char c1, char c2) {
+        return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+    }
+    
+    /**
+     * Emits the boundary-padded trigrams of every letter/digit token in {@code text}.
+     */
+    private static void forEachIndexGram(String text, LongConsumer sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            char c0 = BOUNDARY;
+            char c1 = BOUNDARY;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                char c2 = Character.toLowerCase(text.charAt(i));
+                sink.accept(gram(c0, c1, c2));
+                c0 = c1;
+                c1 = c2;
+                i++;
+            }
+        }
+    }
+    
+    /**
+     * Splits a query into lower-cased letter/digit tokens.
+     */
+    private static List<String> queryTokens(String keyword) {
+        List<String> tokens = new ArrayList<>();
+        if (keyword == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= keyword.length(); i++) {
+            char c = i < keyword.length() ? keyword.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+    
+    private static void forEachQueryGram(String token, LongConsumer sink) {
+        if (token.length() == 1) {
+            sink.accept(gram(BOUNDARY, BOUNDARY, token.charAt(0)));
+        } else if (token.length() == 2) {
+            sink.accept(gram(BOUNDARY, token.charAt(0), token.charAt(1)));
+        } else {
+            for (int i = 0; i + 3 <= token.length(); i++) {
+                sink.accept(gram(token.charAt(i), token.charAt(i + 1), token.charAt(i + 2)));
+            }
+        }
+    }
+    
+    /**
+     * Short tokens must prefix a field token, longer ones may appear anywhere inside one.
+     */
+    private static boolean tokenMatches(String field, String queryToken) {
+        if (field == null) {
+            return false;
+        }
+        boolean prefixOnly = queryToken.length() < 3;
+        int length = field.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(field.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(field.charAt(i))) {
+                i++;
+            }
+            int last = prefixOnly ? start : i - queryToken.length();
+            for (int p = start; p <= last && p + queryToken.length() <= i; p++) {
+                if (regionMatchesLower(field, p, queryToken)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean regionMatchesLower(String text, int offset, String lowerQuery) {
+        if (offset + lowerQuery.length() > text.length()) {
+            return false;
+        }
+        for (int j = 0; j < lowerQuery.length(); j++) {
+            if (Character.toLowerCase(text.charAt(offset + j)) != lowerQuery.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean equalsLower(String text, String lowerQuery) {
+        return text != null && text.length() == lowerQuery.length() && regionMatchesLower(text, 0, lowerQuery);
+    }
+    
+    private static boolean startsWithLower(String text, String lowerQuery) {
+        return text != null && regionMatchesLower(text, 0, lowerQuery);
+    }
+    
+    /**
+     * Single-writer snapshot of the index. Doc ids are assigned in insertion order, so every
+     * posting list is sorted without extra work; removed docs are tombstoned and reclaimed by
+     * {@link #compacted()}.
+     */
+    private static final class Segment {
+        
+        private long[] itemIds;
+        private String[] groupCodes;
+        private String[] codes;
+        private String[] labels;
+        private String[] labelsEn;
+        private int docCount;
+        private final BitSet deleted = new BitSet();
+        private int deletedCount;
+        private final LongIntHashMap docByItemId;
+        
+        private final LongIntHashMap slotByGram = new LongIntHashMap(4096);
+        private int[][] postings = new int[4096][];
+        private int[] postingSizes = new int[4096];
+        private int slotCount;
+        
+        Segment(int expectedDocs) {
+            itemIds = new long[expectedDocs];
+            groupCodes = new String[expectedDocs];
+            codes = new String[expectedDocs];
+            labels = new String[expectedDocs];
+            labelsEn = new String[expectedDocs];
+            docByItemId = new LongIntHashMap(expectedDocs);
+        }
+        
+        int liveCount() {
+            return docCount - deletedCount;
+        }
+        
+        void put(CodeSuggestionDto row) {
+            remove(row.getId());
+            if (docCount == itemIds.length) {
+                int capacity = docCount + (docCount >> 1) + 1;
+                itemIds = Arrays.copyOf(itemIds, capacity);
+                groupCodes = Arrays.copyOf(groupCodes, capacity);
+                codes = Arrays.copyOf(codes, capacity);
+                labels = Arrays.copyOf(labels, capacity);
+                labelsEn = Arrays.copyOf(labelsEn, capacity);
+            }
+            int doc = docCount++;
+            itemIds[doc] = row.getId();
+            groupCodes[doc] = row.getGroupCode() != null ? row.getGroupCode().intern() : null;
+            codes[doc] = row.getCode();
+            labels[doc] = row.getCodeLabel();
+            labelsEn[doc] = row.getCodeLabelEn();
+            docByItemId.put(row.getId(), doc);
+            
+            LongConsumer sink = g -> addPosting(g, doc);
+            forEachIndexGram(row.getCode(), sink);
+            forEachIndexGram(row.getCodeLabel(), sink);
+            forEachIndexGram(row.getCodeLabelEn(), sink);
+        }
+        
+        void remove(long itemId) {
+            int doc = docByItemId.remove(itemId);
+            if (doc < 0) {
+                return;
+            }
+            deleted.set(doc);
+            deletedCount++;
+            codes[doc] = null;
+            labels[doc] = null;
+            labelsEn[doc] = null;
+        }
+        
+        void removeGroup(String groupCode) {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (!deleted.get(doc) && groupCode.equals(groupCodes[doc])) {
+                    remove(itemIds[doc]);
+                }
+            }
+        }
+        
+        boolean needsCompaction() {
+            return deletedCount > 1024 && deletedCount * 4 > docCount;
+        }
+        
+        Segment compacted() {
+            Segment fresh = new Segment(Math.max(1024, liveCount()));
+            for (int doc = 0; doc < docCount; doc++) {
+                if (!deleted.get(doc)) {
+                    fresh.put(toDto(doc));
+                }
+            }
+            return fresh;
+        }
+        
+        CodeSuggestionDto toDto(int doc) {
+            return new CodeSuggestionDto(itemIds[doc], groupCodes[doc], codes[doc], labels[doc], labelsEn[doc]);
+        }
+        
+        private void addPosting(long gram, int doc) {
+            int slot = slotByGram.get(gram);
+            if (slot < 0) {
+                slot = slotCount++;
+                if (slot == postings.length) {
+                    postings = Arrays.copyOf(postings, slot << 1);
+                    postingSizes = Arrays.copyOf(postingSizes, slot << 1);
+                }
+                postings[slot] = new int[4];
+                slotByGram.put(gram, slot);
+            }
+            int size = postingSizes[slot];
+            int[] list = postings[slot];
+            if (size > 0 && list[size - 1] == doc) {
+                return; // gram repeated within the same doc
+            }
+            if (size == list.length) {
+                list = Arrays.copyOf(list, size + (size >> 1) + 1);
+                postings[slot] = list;
+            }
+            list[size] = doc;
+            postingSizes[slot] = size + 1;
+        }
+        
+        int[] search(String keyword, String groupCode, int limit) {
+            List<String> tokens = queryTokens(keyword);
+            if (tokens.isEmpty() || limit <= 0) {
+                return new int[0];
+            }
+            
+            // Resolve every query gram to a posting slot; a missing gram means no match
+            int[] slots = new int[16];
+            int[] slotCountHolder = {0};
+            boolean[] missing = {false};
+            for (String token : tokens) {
+                forEachQueryGram(token, g -> {
+                    int slot = slotByGram.get(g);
+                    if (slot < 0) {
+                        missing[0] = true;
+                        return;
+                    }
+                    if (slotCountHolder[0] == slots.length) {
+                        return; // enough grams to narrow candidates; verification covers the rest
+                    }
+                    slots[slotCountHolder[0]++] = slot;
+                });
+            }
+            if (missing[0]) {
+                return new int[0];
+            }
+            int gramCount = slotCountHolder[0];
+            
+            // Drive the intersection from the shortest posting list
+            int driver = 0;
+            for (int i = 1; i < gramCount; i++) {
+                if (postingSizes[slots[i]] < postingSizes[slots[driver]]) {
+                    driver = i;
+                }
+            }
+            
+            String query = String.join(" ", tokens);
+            TopDocs top = new TopDocs(Math.min(limit, postingSizes[slots[driver]]));
+            int[] driverList = postings[slots[driver]];
+            int driverSize = postingSizes[slots[driver]];
+            
+            candidates:
+            for (int n = 0; n < driverSize; n++) {
+                int doc = driverList[n];
+                if (deleted.get(doc) || (groupCode != null && !groupCode.equals(groupCodes[doc]))) {
+                    continue;
+                }
+                for (int i = 0; i < gramCount; i++) {
+                    if (i != driver && Arrays.binarySearch(postings[slots[i]], 0, postingSizes[slots[i]], doc) < 0) {
+                        continue candidates;
+                    }
+                }
+                for (String token : tokens) {
+                    if (!tokenMatches(codes[doc], token) && !tokenMatches(labels[doc], token)
+                            && !tokenMatches(labelsEn[doc], token)) {
+                        continue candidates;
+                    }
+                }
+                top.offer(doc, rank(doc, query));
+            }
+            return top.sorted();
+        }
+        
+        /**
+         * Higher is better: match tier in the upper bits, shorter codes win ties.
+         */
+        private long rank(int doc, String query) {
+            int tier;
+            if (equalsLower(codes[doc], query)) {
+                tier = RANK_CODE_EXACT;
+            } else if (startsWithLower(codes[doc], query)) {
+                tier = RANK_CODE_PREFIX;
+            } else if (equalsLower(labels[doc], query) || equalsLower(labelsEn[doc], query)) {
+                tier = RANK_LABEL_EXACT;
+            } else if (startsWithLower(labels[doc], query) || startsWithLower(labelsEn[doc], query)) {
+                tier = RANK_LABEL_PREFIX;
+            } else {
+                tier = RANK_TOKEN;
+            }
+            int codeLength = codes[doc] != null ? Math.min(codes[doc].length(), 0xFFFF) : 0xFFFF;
+            return ((long) tier << 48) | ((long) (0xFFFF - codeLength) << 32) | (Integer.MAX_VALUE - doc);
+        }
+    }
+    
+    /**
+     * Best-N collector over primitive ranks. The doc id is recoverable from the low bits of
+     * each rank, so small limits keep a sorted window and large ones sort once at the end.
+     */
+    private static final class TopDocs {
+        
+        private static final int WINDOW_LIMIT = 64;
+        
+        private final int limit;
+        private long[] ranks;
+        private int size;
+        
+        TopDocs(int limit) {
+            this.limit = limit;
+            this.ranks = new long[Math.min(limit, WINDOW_LIMIT)];
+        }
+        
+        void offer(int doc, long rank) {
+            if (limit == 0) {
+                return;
+            }
+            if (limit > WINDOW_LIMIT) {
+                if (size == ranks.length) {
+                    ranks = Arrays.copyOf(ranks, size + (size >> 1) + 1);
+                }
+                ranks[size++] = rank;
+                return;
+            }
+            if (size == limit && rank <= ranks[size - 1]) {
+                return;
+            }
+            int i = size < limit ? size++ : size - 1;
+            while (i > 0 && ranks[i - 1] < rank) {
+                ranks[i] = ranks[i - 1];
+                i--;
+            }
+            ranks[i] = rank;
+        }
+        
+        int[] sorted() {
+            if (limit > WINDOW_LIMIT) {
+                Arrays.sort(ranks, 0, size);
+                int count = Math.min(size, limit);
+                int[] docs = new int[count];
+                for (int i = 0; i < count; i++) {
+                    docs[i] = docOf(ranks[size - 1 - i]);
+                }
+                return docs;
+            }
+            int[] docs = new int[size];
+            for (int i = 0; i < size; i++) {
+                docs[i] = docOf(ranks[i]);
+            }
+            return docs;
+        }
+        
+        private static int docOf(long rank) {
+            return Integer.MAX_VALUE - (int) (rank & 0xFFFFFFFFL);
+        }
+    }
+}
\ No newline at end of file
@@ -2,12 +2,15 @@ package com.company.common.service;
 
 import com.company.common.dto.code.CodeGroupDto;
 import com.company.common.dto.code.CodeItemDto;
+import com.company.common.dto.code.CodeSuggestionDto;
+import com.company.common.entity.ChangeLog;
 import com.company.common.entity.CodeGroup;
 import com.company.common.entity.CodeItem;
 import com.company.common.repository.CodeGroupRepository;
 import com.company.common.repository.CodeItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -25,6 +28,12 @@ public class CodeService {
     
     private final CodeGroupRepository codeGroupRepository;
     private final CodeItemRepository codeItemRepository;
+    private final CodeSearchIndex codeSearchIndex;
+    private final ChangeLogService changeLogService;
+    private final BulkDeleteService bulkDeleteService;
+    
+    @Value("${app.code.search-max-results:200}")
+    private int searchMaxResults;
     
     private static final String CODE_GROUP_CACHE = "codeGroups";
     private static final String CODE_ITEM_CACHE = "codeItems";
@@ -68,6 +77,7 @@ public class CodeService {
                 .build();
         
         group = codeGroupRepository.save(group);
+        changeLogService.record(ChangeLog.ChangeScope.CODE_GROUP, group.getGroupId());
         log.info("Created code group: {}", group.getGroupCode());
         return toGroupDto(group);
     }
@@ -88,6 +98,7 @@ public class CodeService {
         group.setIsActive(dto.getIsActive());
         
         group = codeGroupRepository.save(group);
+        changeLogService.record(ChangeLog.ChangeScope.CODE_GROUP, group.getGroupId());
         log.info("Updated code group: {}", group.getGroupCode());
         return toGroupDto(group);
     }
@@ -102,11 +113,10 @@ public class CodeService {
             throw new RuntimeException("Cannot delete system code group: " + group.getGroupCode());
         }
         
-        // Delete all items in the group
-        codeItemRepository.deleteByGroupId(id);
-        
-        // Delete the group
-        codeGroupRepository.delete(group);
+        // Delete the items in chunks, then the group
+        bulkDeleteService.deleteCodeGroup(id);
+        codeSearchIndex.removeGroup(group.getGroupId());
+        changeLogService.record(ChangeLog.ChangeScope.CODE_GROUP, group.getGroupId());
         log.info("Deleted code group: {}", group.getGroupCode());
     }
     
@@ -181,6 +191,8 @@ public class CodeService {
                 .build();
         
         item = codeItemRepository.save(item);
+        codeSearchIndex.put(item);
+        changeLogService.record(ChangeLog.ChangeScope.CODE_ITEM, String.valueOf(item.getId()));
         log.info("Created code item: {} in group: {}", item.getCode(), group.getGroupCode());
         return toItemDto(item);
     }
@@ -212,6 +224,8 @@ public class CodeService {
         item.setAttribute5(dto.getAttribute5());
         
         item = codeItemRepository.save(item);
+        codeSearchIndex.put(item);
+        changeLogService.record(ChangeLog.ChangeScope.CODE_ITEM, String.valueOf(item.getId()));
         log.info("Updated code item: {}", item.getCode());
         return toItemDto(item);
     }
@@ -229,6 +243,8 @@ public class CodeService {
         }
         
         codeItemRepository.delete(item);
+        codeSearchIndex.remove(item.getId());
+        changeLogService.record(ChangeLog.ChangeScope.CODE_ITEM, String.valueOf(item.getId()));
         log.info("Deleted code item: {}", item.getCode());
     }
     
@@ -279,30 +295,61 @@ public class CodeService {
     @Transactional
     @CacheEvict(value = CODE_ITEM_CACHE, allEntries = true)
     public void reorderCodeItems(Long groupId, List<Long> itemIds) {
-        for (int i = 0; i < itemIds.size(); i++) {
-            CodeItem item = codeItemRepository.findById(itemIds.get(i))
-                    .orElseThrow(() -> new RuntimeException("Code item not found: " + itemIds.get(i)));
-            
-            if (!item.getGroupId().equals(groupId)) {
-                throw new RuntimeException("Code item does not belong to group: " + groupId);
-            }
-            
-            item.setSortOrder(i + 1);
-            codeItemRepository.save(item);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        
+        Set<Long> requested = new LinkedHashSet<>(itemIds);
+        if (requested.size() != itemIds.size()) {
+            throw new RuntimeException("Duplicate code item ids in reorder request for group: " + groupId);
         }
         
-        log.info("Reordered {} code items in group: {}", itemIds.size(), groupId);
+        // Validate membership with a single query instead of loading each item
+        List<Long> members = codeItemRepository.findIdsByGroupIdAndIdIn(groupId, requested);
+        if (members.size() != requested.size()) {
+            requested.removeAll(members);
+            throw new RuntimeException("Code items do not belong to group " + groupId + ": " + requested);
+        }
+        
+        int updated = codeItemRepository.updateSortOrders(itemIds);
+        codeGroupRepository.findById(groupId).ifPresent(group ->
+                changeLogService.record(ChangeLog.ChangeScope.CODE_GROUP, group.getGroupId()));
+        log.info("Reordered {} code items in group: {}", updated, groupId);
     }
     
     // Search Operations
+    
+    /**
+     * The best {@code app.code.search-max-results} matches; short keywords match too many items
+     * to load them all.
+     */
     public List<CodeItemDto> searchCodeItems(String keyword) {
-        return codeItemRepository.findByCodeNameContaining(keyword).stream()
-                .map(this::toItemDto)
-                .collect(Collectors.toList());
+        return findByIndexedIds(codeSearchIndex.searchIds(keyword, null, searchMaxResults));
     }
     
     public List<CodeItemDto> searchCodeItemsInGroup(Long groupId, String keyword) {
-        return codeItemRepository.searchByGroupIdAndKeyword(groupId, keyword).stream()
+        CodeGroup group = codeGroupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Code group not found: " + groupId));
+        return findByIndexedIds(codeSearchIndex.searchIds(keyword, group.getGroupId(), searchMaxResults));
+    }
+    
+    /**
+     * Ranked suggestions served entirely from the in-memory index (no database access).
+     */
+    public List<CodeSuggestionDto> autocompleteCodeItems(String keyword, String groupCode, int limit) {
+        return codeSearchIndex.search(keyword, groupCode, limit);
+    }
+    
+    private List<CodeItemDto> findByIndexedIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Primary-key lookup, then restore the index ranking
+        Map<Long, CodeItem> byId = codeItemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(CodeItem::getId, item -> item));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(this::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -341,6 +388,7 @@ public class CodeService {
     @CacheEvict(value = {CODE_GROUP_CACHE, CODE_ITEM_CACHE}, allEntries = true)
     public void refreshCache() {
         log.info("Refreshing code cache");
+        codeSearchIndex.rebuild();
     }
     
     // DTO Conversion Methods
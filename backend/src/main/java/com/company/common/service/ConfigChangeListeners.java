@@ -0,0 +1,195 @@
+package com.company.common.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Push notifications for configuration changes, fed by {@link SystemConfigService} whenever
+ * it swaps in a new {@link ConfigSnapshot}.
+ * <p>
+ * Deliveries are serialized and run in subscription order, normally on a single dispatcher
+ * thread, so a listener never observes values out of order. Snapshot swaps arriving within
+ * the debounce window are coalesced into one dispatch that compares the last dispatched
+ * snapshot with the latest one; intermediate values may therefore be skipped, but the final
+ * value is always delivered within one window of the first change.
+ */
+@Slf4j
+@Component
+public class ConfigChangeListeners {
+    
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final List<Subscription> prefixSubscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-change-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @Value("${app.config.listener-debounce-ms:200}")
+    private long debounceMillis;
+    
+    private volatile ConfigSnapshot latest;
+    // Guarded by "this"; the snapshot every listener has been brought up to date with
+    private ConfigSnapshot dispatched;
+    
+    /**
+     * Registers {@code listener} for {@code key} and immediately invokes it with the current
+     * entry, so consumers can initialise derived state from the same callback. The entry is
+     * {@code null} while the key is missing or inactive.
+     */
+    public Subscription subscribe(String key, Consumer<ConfigSnapshot.Entry> listener) {
+        Subscription subscription = new Subscription(key, false, snapshot -> listener.accept(snapshot.get(key)),
+                sequence.incrementAndGet());
+        synchronized (this) {
+            subscriptions.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(subscription);
+            subscription.deliver(currentlyDispatched());
+        }
+        return subscription;
+    }
+    
+    /**
+     * Registers {@code listener} for every key starting with {@code prefix}. It is invoked
+     * immediately and then once per dispatch in which any such key was added, changed or
+     * removed, receiving the whole snapshot so it can rebuild derived state in one pass.
+     */
+    public Subscription subscribePrefix(String prefix, Consumer<ConfigSnapshot> listener) {
+        Subscription subscription = new Subscription(prefix, true, listener, sequence.incrementAndGet());
+        synchronized (this) {
+            prefixSubscriptions.add(subscription);
+            subscription.deliver(currentlyDispatched());
+        }
+        return subscription;
+    }
+    
+    /**
+     * Called after a new snapshot has been published. The first snapshot is dispatched
+     * synchronously so that subscribers see loaded values from startup on.
+     */
+    void publish(ConfigSnapshot snapshot) {
+        latest = snapshot;
+        synchronized (this) {
+            if (dispatched == null) {
+                dispatch();
+                return;
+            }
+        }
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(() -> {
+                dispatchScheduled.set(false);
+                dispatch();
+            }, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+    
+    private synchronized void dispatch() {
+        ConfigSnapshot previous = currentlyDispatched();
+        ConfigSnapshot current = latest;
+        dispatched = current;
+        
+        List<Subscription> affected = new ArrayList<>();
+        subscriptions.forEach((key, keySubscriptions) -> {
+            if (!sameValue(previous.get(key), current.get(key))) {
+                affected.addAll(keySubscriptions);
+            }
+        });
+        for (Subscription subscription : prefixSubscriptions) {
+            if (prefixChanged(subscription.key, previous, current)) {
+                affected.add(subscription);
+            }
+        }
+        affected.sort(Comparator.comparingLong(subscription -> subscription.order));
+        
+        for (Subscription subscription : affected) {
+            subscription.deliver(current);
+        }
+        if (!affected.isEmpty()) {
+            log.debug("Dispatched configuration changes to {} listeners", affected.size());
+        }
+    }
+    
+    private ConfigSnapshot currentlyDispatched() {
+        return dispatched != null ? dispatched : ConfigSnapshot.EMPTY;
+    }
+    
+    private static boolean prefixChanged(String prefix, ConfigSnapshot previous, ConfigSnapshot current) {
+        for (String key : current.keys()) {
+            if (key.startsWith(prefix) && !sameValue(previous.get(key), current.get(key))) {
+                return true;
+            }
+        }
+        for (String key : previous.keys()) {
+            if (key.startsWith(prefix) && !current.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean sameValue(ConfigSnapshot.Entry a, ConfigSnapshot.Entry b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.getValue(), b.getValue()) && a.getValueType() == b.getValueType();
+    }
+    
+    public final class Subscription {
+        
+        private final String key;
+        private final boolean prefix;
+        private final Consumer<ConfigSnapshot> listener;
+        private final long order;
+        
+        private Subscription(String key, boolean prefix, Consumer<ConfigSnapshot> listener, long order) {
+            this.key = key;
+            this.prefix = prefix;
+            this.listener = listener;
+            this.order = order;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public void cancel() {
+            if (prefix) {
+                prefixSubscriptions.remove(this);
+                return;
+            }
+            List<Subscription> keySubscriptions = subscriptions.get(key);
+            if (keySubscriptions != null) {
+                keySubscriptions.remove(this);
+            }
+        }
+        
+        private void deliver(ConfigSnapshot snapshot) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                log.error("Configuration listener for {} failed", key, e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.company.common.service;
+
+import com.company.common.entity.SystemConfig;
+import com.company.common.util.EncryptionUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of all active system configurations.
+ * <p>
+ * Values are decrypted and parsed to their declared type once when the snapshot is built, so
+ * typed reads are a single map lookup returning an already boxed value. A new snapshot is
+ * built and swapped in by {@link SystemConfigService} whenever configurations change.
+ */
+@Slf4j
+public final class ConfigSnapshot {
+    
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot(Collections.emptyMap());
+    
+    private final Map<String, Entry> entries;
+    
+    private ConfigSnapshot(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+    
+    public static ConfigSnapshot of(Collection<SystemConfig> configs, ObjectMapper objectMapper) {
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, configs.size() * 4 / 3 + 1));
+        for (SystemConfig config : configs) {
+            if (!Boolean.TRUE.equals(config.getIsActive()) || config.getConfigValue() == null) {
+                continue;
+            }
+            String value = config.getConfigValue();
+            if (Boolean.TRUE.equals(config.getIsEncrypted())) {
+                try {
+                    value = EncryptionUtils.decrypt(value);
+                } catch (Exception e) {
+                    log.error("Failed to decrypt configuration: {}", config.getConfigKey());
+                    continue;
+                }
+            }
+            entries.put(config.getConfigKey(), new Entry(config.getConfigKey(), value, config.getValueType(), objectMapper));
+        }
+        return new ConfigSnapshot(Collections.unmodifiableMap(entries));
+    }
+    
+    public Entry get(String key) {
+        return key != null ? entries.get(key) : null;
+    }
+    
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+    
+    public Set<String> keys() {
+        return entries.keySet();
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * A single decrypted configuration value, parsed eagerly to its declared type. The other
+     * numeric forms stay available so that existing callers reading a {@code STRING} config as
+     * a number keep working, but are only parsed on first access.
+     */
+    @Getter
+    public static final class Entry {
+        
+        private static final Object INVALID = new Object();
+        private static final Object UNPARSED = new Object();
+        
+        private final String key;
+        private final String value;
+        private final SystemConfig.ValueType valueType;
+        // UNPARSED until first read unless declared; racing readers parse the same immutable value
+        @Getter(lombok.AccessLevel.NONE)
+        private Object intValue = UNPARSED;
+        @Getter(lombok.AccessLevel.NONE)
+        private Object longValue = UNPARSED;
+        @Getter(lombok.AccessLevel.NONE)
+        private Object doubleValue = UNPARSED;
+        private final Boolean booleanValue;
+        private final JsonNode jsonValue;
+        private final Object temporalValue;
+        
+        @Getter(lombok.AccessLevel.NONE)
+        private final Map<Class<?>, Object> jsonByType = new ConcurrentHashMap<>(2);
+        
+        private Entry(String key, String value, SystemConfig.ValueType valueType, ObjectMapper objectMapper) {
+            this.key = key;
+            this.value = value;
+            this.valueType = valueType;
+            if (valueType == SystemConfig.ValueType.INTEGER) {
+                this.intValue = parseInt(value);
+            } else if (valueType == SystemConfig.ValueType.LONG) {
+                this.longValue = parseLong(value);
+            } else if (valueType == SystemConfig.ValueType.DOUBLE) {
+                this.doubleValue = parseDouble(value);
+            }
+            this.booleanValue = Boolean.valueOf(value);
+            this.jsonValue = valueType == SystemConfig.ValueType.JSON ? parseJson(value, objectMapper) : null;
+            this.temporalValue = parseTemporal(value, valueType);
+            
+            if (!matchesDeclaredType()) {
+                log.warn("Configuration {} does not match its declared type {}", key, valueType);
+            }
+        }
+        
+        public Integer getIntValue() {
+            Object parsed = intValue;
+            if (parsed == UNPARSED) {
+                parsed = parseInt(value);
+                intValue = parsed;
+            }
+            return (Integer) parsed;
+        }
+        
+        public Long getLongValue() {
+            Object parsed = longValue;
+            if (parsed == UNPARSED) {
+                parsed = parseLong(value);
+                longValue = parsed;
+            }
+            return (Long) parsed;
+        }
+        
+        public Double getDoubleValue() {
+            Object parsed = doubleValue;
+            if (parsed == UNPARSED) {
+                parsed = parseDouble(value);
+                doubleValue = parsed;
+            }
+            return (Double) parsed;
+        }
+        
+        /**
+         * Converts the value to {@code type}, parsing at most once per type. Returns
+         * {@code null} when the value cannot be converted. The returned instance is shared
+         * between callers and must be treated as read-only.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T getJson(Class<T> type, ObjectMapper objectMapper) {
+            Object converted = jsonByType.computeIfAbsent(type, t -> {
+                try {
+                    return jsonValue != null
+                            ? objectMapper.treeToValue(jsonValue, t)
+                            : objectMapper.readValue(value, t);
+                } catch (Exception e) {
+                    log.error("Invalid JSON value for key: {}", key, e);
+                    return INVALID;
+                }
+            });
+            return converted == INVALID ? null : (T) converted;
+        }
+        
+        private boolean matchesDeclaredType() {
+            if (valueType == null) {
+                return true;
+            }
+            switch (valueType) {
+                case INTEGER:
+                    return getIntValue() != null;
+                case LONG:
+                    return getLongValue() != null;
+                case DOUBLE:
+                    return getDoubleValue() != null;
+                case BOOLEAN:
+                    return value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false");
+                case JSON:
+                    return jsonValue != null;
+                case DATE:
+                case TIME:
+                case DATETIME:
+                    return temporalValue != null;
+                case STRING:
+                default:
+                    return true;
+            }
+        }
+        
+        private static Integer parseInt(String value) {
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        
+        private static Long parseLong(String value) {
+            try {
+                return Long.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        
+        private static Double parseDouble(String value) {
+            try {
+                return Double.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        
+        private static JsonNode parseJson(String value, ObjectMapper objectMapper) {
+            try {
+                return objectMapper.readTree(value);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        
+        private static Object parseTemporal(String value, SystemConfig.ValueType valueType) {
+            if (valueType == null) {
+                return null;
+            }
+            try {
+                switch (valueType) {
+                    case DATE:
+                        return LocalDate.parse(value, DateTimeFormatter.ISO_DATE);
+                    case TIME:
+                        return LocalTime.parse(value, DateTimeFormatter.ISO_TIME);
+                    case DATETIME:
+                        return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+                    default:
+                        return null;
+                }
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.company.common.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Denormalized counters: {@code posts.comment_count}, {@code posts.attachment_count},
+ * {@code boards.post_count} and the per-category counts in {@code board_category_counts}.
+ * <p>
+ * Write paths adjust them with single-row increments in the caller's transaction, so list
+ * and board endpoints read counts instead of aggregating. {@code attachment_count} is set
+ * from the entity, the only place attachments change. A reconciliation job recomputes every
+ * counter in bulk and rewrites only the rows that drifted, one statement at a time so no
+ * long transaction holds the rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentCounterService {
+    
+    private static final String PUBLISHED_COUNT = "SELECT COUNT(*) FROM posts p WHERE p.board_id = boards.id AND p.is_draft = false";
+    private static final String CATEGORY_COUNT = "SELECT COUNT(*) FROM posts p WHERE p.board_id = f.board_id " +
+            "AND p.category = f.category AND p.is_draft = false";
+    
+    private static final Map<String, String> RECONCILE_SQL = new LinkedHashMap<>();
+    
+    static {
+        RECONCILE_SQL.put("post comment counts",
+                "UPDATE posts SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id) " +
+                "WHERE comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id)");
+        RECONCILE_SQL.put("post attachment counts",
+                "UPDATE posts SET attachment_count = (SELECT COUNT(*) FROM post_attachments a WHERE a.post_id = posts.id) " +
+                "WHERE attachment_count <> (SELECT COUNT(*) FROM post_attachments a WHERE a.post_id = posts.id)");
+        RECONCILE_SQL.put("board post counts",
+                "UPDATE boards SET post_count = (" + PUBLISHED_COUNT + ") WHERE post_count <> (" + PUBLISHED_COUNT + ")");
+        RECONCILE_SQL.put("board category counts",
+                "UPDATE board_category_counts f SET post_count = (" + CATEGORY_COUNT + ") " +
+                "WHERE post_count <> (" + CATEGORY_COUNT + ")");
+        RECONCILE_SQL.put("empty board categories",
+                "DELETE FROM board_category_counts WHERE post_count <= 0");
+        RECONCILE_SQL.put("missing board categories",
+                "INSERT INTO board_category_counts (board_id, category, post_count) " +
+                "SELECT p.board_id, p.category, COUNT(*) FROM posts p " +
+                "WHERE p.is_draft = false AND p.category IS NOT NULL AND p.category <> '' AND NOT EXISTS (" +
+                "    SELECT 1 FROM board_category_counts f WHERE f.board_id = p.board_id AND f.category = p.category) " +
+                "GROUP BY p.board_id, p.category");
+    }
+    
+    private static final String UPSERT_CATEGORY_SQL =
+            "INSERT INTO board_category_counts (board_id, category, post_count) VALUES (:boardId, :category, :delta) " +
+            "ON CONFLICT (board_id, category) DO UPDATE SET post_count = board_category_counts.post_count + EXCLUDED.post_count";
+    private static final String UPDATE_CATEGORY_SQL =
+            "UPDATE board_category_counts SET post_count = post_count + :delta WHERE board_id = :boardId AND category = :category";
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO board_category_counts (board_id, category, post_count) VALUES (:boardId, :category, :delta)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    private boolean postgres;
+    
+    @PostConstruct
+    public void initialize() {
+        String product = jdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+    }
+    
+    /**
+     * A published post was added to the board.
+     */
+    public void postAdded(Long boardId, String category) {
+        adjustBoard(boardId, 1);
+        adjustCategory(boardId, category, 1);
+    }
+    
+    /**
+     * A published post was removed from the board.
+     */
+    public void postRemoved(Long boardId, String category) {
+        adjustBoard(boardId, -1);
+        adjustCategory(boardId, category, -1);
+    }
+    
+    public void categoryChanged(Long boardId, String from, String to) {
+        if (!Objects.equals(normalize(from), normalize(to))) {
+            adjustCategory(boardId, from, -1);
+            adjustCategory(boardId, to, 1);
+        }
+    }
+    
+    public void commentAdded(Long postId) {
+        jdbcTemplate.update("UPDATE posts SET comment_count = comment_count + 1 WHERE id = :postId",
+                new MapSqlParameterSource("postId", postId));
+    }
+    
+    @Scheduled(cron = "${app.board.counters.reconcile-cron:0 15 4 * * *}")
+    public void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Recomputes every counter and repairs the drifted ones. Returns the number of rows changed.
+     */
+    public int reconcile() {
+        int repaired = 0;
+        for (Map.Entry<String, String> statement : RECONCILE_SQL.entrySet()) {
+            int rows = jdbcTemplate.getJdbcTemplate().update(statement.getValue());
+            if (rows > 0) {
+                log.info("Repaired {} {}", rows, statement.getKey());
+            }
+            repaired += rows;
+        }
+        return repaired;
+    }
+    
+    private void adjustBoard(Long boardId, int delta) {
+        jdbcTemplate.update("UPDATE boards SET post_count = post_count + :delta WHERE id = :boardId",
+                new MapSqlParameterSource("boardId", boardId).addValue("delta", delta));
+    }
+    
+    private void adjustCategory(Long boardId, String category, int delta) {
+        String value = normalize(category);
+        if (value == null) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("boardId", boardId)
+                .addValue("category", value)
+                .addValue("delta", delta);
+        if (delta < 0) {
+            // A missing row is drift the reconciliation repairs
+            jdbcTemplate.update(UPDATE_CATEGORY_SQL, params);
+        } else if (postgres) {
+            jdbcTemplate.update(UPSERT_CATEGORY_SQL, params);
+        } else if (jdbcTemplate.update(UPDATE_CATEGORY_SQL, params) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_CATEGORY_SQL, params);
+            } catch (DuplicateKeyException e) {
+                // First post of the category added concurrently
+                jdbcTemplate.update(UPDATE_CATEGORY_SQL, params);
+            }
+        }
+    }
+    
+    private static String normalize(String category) {
+        return category != null && !category.isEmpty() ? category : null;
+    }
+}
\ No newline at end of file
@@ -7,26 +7,37 @@ import com.company.common.exception.BadRequestException;
 import com.company.common.exception.ResourceNotFoundException;
 import com.company.common.repository.FileRepository;
 import com.company.common.repository.UserRepository;
+import com.company.common.util.ContentTypeSniffer;
+import com.company.common.util.MultipartStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,45 +50,76 @@ public class FileService {
     private final FileRepository fileRepository;
     private final UserRepository userRepository;
     
+    private static final int DETACHED_FILES_CHUNK = 500;
+    private static final int INGEST_BUFFER_SIZE = 64 * 1024;
+    // Longest form field value accepted (the description column)
+    private static final int MAX_FIELD_LENGTH = 255;
+    
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
     
     @Value("${file.max-size:104857600}")
     private Long maxFileSize;
     
-    public FileDto uploadFile(MultipartFile file, Long userId, String description, Integer expirationDays) {
-        validateFile(file);
-        
+    /**
+     * Stores the {@code file} part of a {@code multipart/form-data} body read straight from the
+     * request stream. One pass through a fixed buffer writes the file, computes its SHA-256,
+     * counts its bytes against the size limit and keeps its leading bytes for content type
+     * detection, so memory per upload stays constant whatever the file size. The description
+     * and expiration may also come as form fields. Runs outside a transaction so no connection
+     * is held while the body arrives.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FileDto uploadFile(String requestContentType, InputStream body, Long userId,
+                              String description, Integer expirationDays) {
+        String boundary = MultipartStream.boundaryOf(requestContentType);
+        if (boundary == null) {
+            throw new BadRequestException("Expected a multipart/form-data request");
+        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        String fileName = generateFileName(file);
-        Path targetLocation = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(fileName);
-        
+        MultipartStream multipart = new MultipartStream(body, boundary);
+        StoredUpload upload = null;
         try {
-            Files.createDirectories(targetLocation.getParent());
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            MultipartStream.Part part;
+            while ((part = multipart.next()) != null) {
+                if ("file".equals(part.getName()) && part.isFile() && upload == null) {
+                    upload = store(part);
+                } else if ("description".equals(part.getName()) && description == null) {
+                    description = MultipartStream.readText(part, MAX_FIELD_LENGTH);
+                } else if ("expirationDays".equals(part.getName()) && expirationDays == null) {
+                    expirationDays = parseExpirationDays(MultipartStream.readText(part, MAX_FIELD_LENGTH));
+                }
+            }
+            if (upload == null) {
+                throw new BadRequestException("Failed to store empty file");
+            }
             
             FileEntity fileEntity = FileEntity.builder()
-                    .fileName(fileName)
-                    .originalName(file.getOriginalFilename())
-                    .filePath(targetLocation.toString())
-                    .fileSize(file.getSize())
-                    .fileType(getFileExtension(file.getOriginalFilename()))
-                    .contentType(file.getContentType())
+                    .fileName(upload.fileName)
+                    .originalName(upload.originalName)
+                    .filePath(upload.path.toString())
+                    .fileSize(upload.size)
+                    .fileType(getFileExtension(upload.originalName))
+                    .contentType(upload.contentType)
                     .uploadedBy(user)
                     .description(description)
-                    .fileHash(calculateFileHash(file))
+                    .fileHash(upload.sha256)
                     .expiresAt(expirationDays != null ? LocalDateTime.now().plusDays(expirationDays) : null)
                     .build();
             
             fileEntity = fileRepository.save(fileEntity);
-            log.info("File uploaded: {} by user: {}", fileName, user.getEmail());
+            log.info("File uploaded: {} ({} bytes) by user: {}", upload.fileName, upload.size, user.getEmail());
             
             return convertToDto(fileEntity);
-            
-        } catch (IOException | NoSuchAlgorithmException ex) {
+        
+        } catch (IOException ex) {
+            deleteQuietly(upload);
             throw new BadRequestException("Could not store file. Please try again!", ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(upload);
+            throw ex;
         }
     }
     
@@ -160,25 +202,127 @@ public class FileService {
         }
     }
     
-    private void validateFile(MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new BadRequestException("Failed to store empty file");
+    /**
+     * Removes stored files of deleted post attachments, with their file records, once no other
+     * attachment refers to them. Runs in the background after bulk deletions.
+     */
+    @Async
+    @Transactional
+    public void removeDetachedFiles(Collection<String> filePaths) {
+        List<String> paths = new ArrayList<>(filePaths);
+        int removed = 0;
+        for (int from = 0; from < paths.size(); from += DETACHED_FILES_CHUNK) {
+            List<String> chunk = paths.subList(from, Math.min(from + DETACHED_FILES_CHUNK, paths.size()));
+            Set<String> kept = new HashSet<>(fileRepository.findAttachedFilePaths(chunk));
+            for (String path : chunk) {
+                if (kept.contains(path)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(Paths.get(path).normalize());
+                    removed++;
+                } catch (IOException ex) {
+                    // Keep the record so the file can still be found and removed later
+                    kept.add(path);
+                    log.error("Failed to delete detached file: {}", path, ex);
+                }
+            }
+            fileRepository.deleteAll(fileRepository.findByFilePathIn(chunk).stream()
+                    .filter(file -> !kept.contains(file.getFilePath()))
+                    .collect(Collectors.toList()));
         }
+        log.info("Removed {} of {} detached attachment files", removed, paths.size());
+    }
+    
+    /**
+     * Copies the part's body to a new file under the upload directory, hashing, counting and
+     * sniffing it on the way. A partly written file is removed on failure.
+     */
+    private StoredUpload store(MultipartStream.Part part) throws IOException {
+        String originalName = validateFileName(part.getFileName());
+        String fileName = UUID.randomUUID().toString() + "." + getFileExtension(originalName);
+        Path targetLocation = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(fileName);
+        Files.createDirectories(targetLocation.getParent());
         
-        if (file.getSize() > maxFileSize) {
-            throw new BadRequestException("File size exceeds maximum limit");
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[INGEST_BUFFER_SIZE];
+        byte[] header = new byte[ContentTypeSniffer.HEADER_SIZE];
+        int headerLength = 0;
+        long size = 0;
+        boolean stored = false;
+        try (OutputStream out = Files.newOutputStream(targetLocation, StandardOpenOption.CREATE_NEW)) {
+            int read;
+            while ((read = part.getBody().read(buffer)) >= 0) {
+                size += read;
+                if (size > maxFileSize) {
+                    throw new MaxUploadSizeExceededException(maxFileSize);
+                }
+                if (headerLength < header.length) {
+                    int count = Math.min(read, header.length - headerLength);
+                    System.arraycopy(buffer, 0, header, headerLength, count);
+                    headerLength += count;
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+            if (size == 0) {
+                throw new BadRequestException("Failed to store empty file");
+            }
+            stored = true;
+        } finally {
+            if (!stored) {
+                Files.deleteIfExists(targetLocation);
+            }
         }
         
-        String fileName = StringUtils.cleanPath(file.getOriginalFilename());
+        StoredUpload upload = new StoredUpload();
+        upload.fileName = fileName;
+        upload.originalName = originalName;
+        upload.path = targetLocation;
+        upload.size = size;
+        upload.sha256 = HexFormat.of().formatHex(digest.digest());
+        upload.contentType = ContentTypeSniffer.resolve(part.getContentType(), header, headerLength);
+        return upload;
+    }
+    
+    private String validateFileName(String originalFileName) {
+        String fileName = StringUtils.cleanPath(originalFileName);
+        // Some browsers send the client-side path
+        fileName = fileName.substring(fileName.lastIndexOf('/') + 1);
+        if (fileName.isEmpty()) {
+            throw new BadRequestException("File name is missing");
+        }
         if (fileName.contains("..")) {
             throw new BadRequestException("Filename contains invalid path sequence");
         }
+        return fileName;
+    }
+    
+    private Integer parseExpirationDays(String value) {
+        try {
+            return value.isBlank() ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("expirationDays must be a number");
+        }
     }
     
-    private String generateFileName(MultipartFile file) {
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = getFileExtension(originalFileName);
-        return UUID.randomUUID().toString() + "." + fileExtension;
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+    
+    private void deleteQuietly(StoredUpload upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload.path);
+        } catch (IOException ex) {
+            log.warn("Failed to delete abandoned upload: {}", upload.path, ex);
+        }
     }
     
     private String getFileExtension(String fileName) {
@@ -188,17 +332,6 @@ public class FileService {
         return fileName.substring(fileName.lastIndexOf(".") + 1);
     }
     
-    private String calculateFileHash(MultipartFile file) throws NoSuchAlgorithmException, IOException {
-        MessageDigest md = MessageDigest.getInstance("MD5");
-        md.update(file.getBytes());
-        byte[] digest = md.digest();
-        StringBuilder sb = new StringBuilder();
-        for (byte b : digest) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
-    
     private FileDto convertToDto(FileEntity entity) {
         return FileDto.builder()
                 .id(entity.getId())
@@ -215,4 +348,14 @@ public class FileService {
                 .description(entity.getDescription())
                 .build();
     }
+    
+    private static final class StoredUpload {
+        
+        private String fileName;
+        private String originalName;
+        private Path path;
+        private long size;
+        private String sha256;
+        private String contentType;
+    }
 }
\ No newline at end of file
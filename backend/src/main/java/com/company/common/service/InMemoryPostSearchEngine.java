@@ -0,0 +1,454 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.PostSearchDocument;
+import com.company.common.entity.ChangeLog;
+import com.company.common.entity.Post;
+import com.company.common.repository.PostRepository;
+import com.company.common.util.LongIntHashMap;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded {@link PostSearchEngine}: an in-memory inverted index over the title, content and
+ * author name of published posts. Used by default ({@code app.search.engine=embedded}); a
+ * single node keeps it current through {@link #index}/{@link #remove}, other nodes through
+ * {@link RemoteChangeEvent}s for {@link ChangeLog.ChangeScope#POST}.
+ *
+ * <p>Each field has a sorted term dictionary, so a query term matches every indexed word it
+ * prefixes with one range scan. Postings are sorted {@code int[]} doc lists; matching docs are
+ * filtered on per-doc arrays and ordered by a packed {@code (createdAt, doc)} key.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "embedded", matchIfMissing = true)
+public class InMemoryPostSearchEngine implements PostSearchEngine {
+    
+    private static final int LOAD_BATCH_SIZE = 1000;
+    
+    private final PostRepository postRepository;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index(1024);
+    private List<Consumer<Index>> pendingDuringRebuild;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        Index fresh = new Index(Math.max(1024, size()));
+        try {
+            long afterId = 0L;
+            List<PostSearchDocument> documents;
+            do {
+                documents = postRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                attachTags(documents);
+                documents.forEach(fresh::put);
+                if (!documents.isEmpty()) {
+                    afterId = documents.get(documents.size() - 1).getId();
+                }
+            } while (documents.size() == LOAD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // Writes committed while we were loading are replayed onto the new index
+                pendingDuringRebuild.forEach(mutation -> mutation.accept(fresh));
+                pendingDuringRebuild = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        log.info("Post search index built with {} posts", fresh.liveCount());
+    }
+    
+    @Override
+    public void index(Post post) {
+        if (Boolean.TRUE.equals(post.getIsDraft())) {
+            remove(post.getId());
+            return;
+        }
+        PostSearchDocument document = PostSearchDocument.builder()
+                .id(post.getId())
+                .boardId(post.getBoard().getId())
+                .category(post.getCategory())
+                .createdAt(post.getCreatedAt())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .authorName(post.getAuthor().getFullName())
+                .tags(post.getTags() != null ? new ArrayList<>(post.getTags()) : null)
+                .build();
+        TransactionUtils.afterCommit(() -> mutate(i -> i.put(document)));
+    }
+    
+    @Override
+    public void remove(Long postId) {
+        TransactionUtils.afterCommit(() -> mutate(i -> i.remove(postId)));
+    }
+    
+    /**
+     * Re-reads posts changed on another node from the database.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.POST) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            rebuild();
+            return;
+        }
+        for (String key : event.getKeys()) {
+            long postId = Long.parseLong(key);
+            Optional<PostSearchDocument> document = postRepository.findSearchDocumentById(postId);
+            document.ifPresent(d -> attachTags(Collections.singletonList(d)));
+            document.ifPresentOrElse(d -> mutate(i -> i.put(d)), () -> mutate(i -> i.remove(postId)));
+        }
+    }
+    
+    @Override
+    public Page<Long> search(PostSearchQuery query, Pageable pageable) {
+        if (query.getTerms().isEmpty()) {
+            return Page.empty(pageable);
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(query, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void mutate(Consumer<Index> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(index);
+            if (index.needsCompaction()) {
+                index.compact();
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void attachTags(List<PostSearchDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        Map<Long, PostSearchDocument> byId = documents.stream()
+                .collect(Collectors.toMap(PostSearchDocument::getId, d -> d));
+        for (Object[] row : postRepository.findTagsByPostIdIn(byId.keySet())) {
+            PostSearchDocument document = byId.get((Long) row[0]);
+            if (document.getTags() == null) {
+                document.setTags(new ArrayList<>(2));
+            }
+            document.getTags().add((String) row[1]);
+        }
+    }
+    
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : 0L;
+    }
+    
+    /**
+     * Growable posting list; doc ids are appended in increasing order.
+     */
+    private static final class Postings {
+        
+        private int[] docs = new int[4];
+        private int size;
+        
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size << 1);
+            }
+            docs[size++] = doc;
+        }
+    }
+    
+    /**
+     * Single-writer index guarded by the engine's lock. Doc ids are assigned in insertion
+     * order; removed docs are tombstoned and reclaimed in place by {@link #compact()}.
+     */
+    private static final class Index {
+        
+        private static final String[] NO_TAGS = new String[0];
+        
+        private long[] postIds;
+        private long[] boardIds;
+        private long[] createdAt;
+        private String[] categories;
+        private String[][] tags;
+        private int docCount;
+        private final BitSet deleted = new BitSet();
+        private int deletedCount;
+        private LongIntHashMap docByPostId;
+        
+        private final TreeMap<String, Postings> titleTerms = new TreeMap<>();
+        private final TreeMap<String, Postings> contentTerms = new TreeMap<>();
+        private final TreeMap<String, Postings> authorTerms = new TreeMap<>();
+        
+        Index(int expectedDocs) {
+            postIds = new long[expectedDocs];
+            boardIds = new long[expectedDocs];
+            createdAt = new long[expectedDocs];
+            categories = new String[expectedDocs];
+            tags = new String[expectedDocs][];
+            docByPostId = new LongIntHashMap(expectedDocs);
+        }
+        
+        int liveCount() {
+            return docCount - deletedCount;
+        }
+        
+        void put(PostSearchDocument document) {
+            remove(document.getId());
+            if (docCount == postIds.length) {
+                int capacity = docCount + (docCount >> 1) + 1;
+                postIds = Arrays.copyOf(postIds, capacity);
+                boardIds = Arrays.copyOf(boardIds, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                tags = Arrays.copyOf(tags, capacity);
+            }
+            int doc = docCount++;
+            postIds[doc] = document.getId();
+            boardIds[doc] = document.getBoardId() != null ? document.getBoardId() : -1L;
+            createdAt[doc] = epochSecond(document.getCreatedAt());
+            categories[doc] = document.getCategory() != null ? document.getCategory().intern() : null;
+            tags[doc] = document.getTags() != null ? internAll(document.getTags()) : NO_TAGS;
+            docByPostId.put(document.getId(), doc);
+            
+            addTerms(titleTerms, document.getTitle(), doc);
+            addTerms(contentTerms, document.getContent(), doc);
+            addTerms(authorTerms, document.getAuthorName(), doc);
+        }
+        
+        void remove(long postId) {
+            int doc = docByPostId.remove(postId);
+            if (doc < 0) {
+                return;
+            }
+            deleted.set(doc);
+            deletedCount++;
+            tags[doc] = NO_TAGS;
+        }
+        
+        boolean needsCompaction() {
+            return deletedCount > 1024 && deletedCount * 4 > docCount;
+        }
+        
+        /**
+         * Drops tombstoned docs by shifting live docs down and rewriting every posting list
+         * through the old-to-new doc mapping, which preserves their sort order.
+         */
+        void compact() {
+            int[] remap = new int[docCount];
+            int live = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (deleted.get(doc)) {
+                    remap[doc] = -1;
+                    continue;
+                }
+                remap[doc] = live;
+                postIds[live] = postIds[doc];
+                boardIds[live] = boardIds[doc];
+                createdAt[live] = createdAt[doc];
+                categories[live] = categories[doc];
+                tags[live] = tags[doc];
+                live++;
+            }
+            Arrays.fill(categories, live, docCount, null);
+            Arrays.fill(tags, live, docCount, null);
+            
+            compactTerms(titleTerms, remap);
+            compactTerms(contentTerms, remap);
+            compactTerms(authorTerms, remap);
+            
+            docByPostId = new LongIntHashMap(Math.max(1024, live));
+            for (int doc = 0; doc < live; doc++) {
+                docByPostId.put(postIds[doc], doc);
+            }
+            docCount = live;
+            deleted.clear();
+            deletedCount = 0;
+        }
+        
+        Page<Long> search(PostSearchQuery query, Pageable pageable) {
+            BitSet matches = null;
+            for (String term : query.getTerms()) {
+                BitSet termDocs = new BitSet(docCount);
+                PostSearchQuery.Field field = query.getField();
+                if (field == PostSearchQuery.Field.TITLE || field == PostSearchQuery.Field.ALL) {
+                    collect(titleTerms, term, termDocs);
+                }
+                if (field == PostSearchQuery.Field.CONTENT || field == PostSearchQuery.Field.ALL) {
+                    collect(contentTerms, term, termDocs);
+                }
+                if (field == PostSearchQuery.Field.AUTHOR || field == PostSearchQuery.Field.ALL) {
+                    collect(authorTerms, term, termDocs);
+                }
+                if (matches == null) {
+                    matches = termDocs;
+                } else {
+                    matches.and(termDocs);
+                }
+                if (matches.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+            }
+            matches.andNot(deleted);
+            
+            long from = query.getFrom() != null ? epochSecond(query.getFrom()) : Long.MIN_VALUE;
+            long to = query.getTo() != null ? epochSecond(query.getTo()) : Long.MAX_VALUE;
+            long[] hits = new long[matches.cardinality()];
+            int hitCount = 0;
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                if (query.getBoardId() != null && boardIds[doc] != query.getBoardId()) {
+                    continue;
+                }
+                if (createdAt[doc] < from || createdAt[doc] > to) {
+                    continue;
+                }
+                if (query.getCategory() != null && !query.getCategory().equals(categories[doc])) {
+                    continue;
+                }
+                if (query.hasTags() && !hasAnyTag(tags[doc], query.getTags())) {
+                    continue;
+                }
+                if (query.hasAllTags() && !hasAllTags(tags[doc], query.getAllTags())) {
+                    continue;
+                }
+                if (query.hasExcludedTags() && hasAnyTag(tags[doc], query.getExcludedTags())) {
+                    continue;
+                }
+                // Epoch second in the high 32 bits, doc in the low 32; flipping the sign bit
+                // makes the signed sort below order the seconds as unsigned
+                hits[hitCount++] = ((createdAt[doc] << 32) | doc) ^ Long.MIN_VALUE;
+            }
+            Arrays.sort(hits, 0, hitCount);
+            
+            Sort.Order createdOrder = pageable.getSort().getOrderFor("createdAt");
+            boolean ascending = createdOrder != null && createdOrder.isAscending();
+            int offset = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), hitCount) : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : hitCount;
+            List<Long> ids = new ArrayList<>(Math.min(limit, hitCount - offset));
+            for (int i = offset; i < hitCount && ids.size() < limit; i++) {
+                long hit = ascending ? hits[i] : hits[hitCount - 1 - i];
+                ids.add(postIds[(int) hit]);
+            }
+            return new PageImpl<>(ids, pageable, hitCount);
+        }
+        
+        private static void addTerms(TreeMap<String, Postings> dictionary, String text, int doc) {
+            for (String term : PostSearchQuery.tokenize(text)) {
+                dictionary.computeIfAbsent(term, t -> new Postings()).add(doc);
+            }
+        }
+        
+        /**
+         * Marks every doc containing a word that starts with {@code prefix}.
+         */
+        private static void collect(TreeMap<String, Postings> dictionary, String prefix, BitSet target) {
+            NavigableMap<String, Postings> range = dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            for (Postings postings : range.values()) {
+                for (int i = 0; i < postings.size; i++) {
+                    target.set(postings.docs[i]);
+                }
+            }
+        }
+        
+        private static void compactTerms(TreeMap<String, Postings> dictionary, int[] remap) {
+            Iterator<Postings> iterator = dictionary.values().iterator();
+            while (iterator.hasNext()) {
+                Postings postings = iterator.next();
+                int size = 0;
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = remap[postings.docs[i]];
+                    if (doc >= 0) {
+                        postings.docs[size++] = doc;
+                    }
+                }
+                postings.size = size;
+                if (size == 0) {
+                    iterator.remove();
+                }
+            }
+        }
+        
+        private static boolean hasAnyTag(String[] docTags, Collection<String> wanted) {
+            for (String tag : docTags) {
+                if (wanted.contains(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static boolean hasAllTags(String[] docTags, Collection<String> wanted) {
+            for (String tag : wanted) {
+                if (!Arrays.asList(docTags).contains(tag)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private static String[] internAll(List<String> values) {
+            return values.stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(String::intern)
+                    .toArray(String[]::new);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.LikeStatusDto;
+import com.company.common.entity.ContentLike;
+import com.company.common.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Like store for posts and comments keyed by (target, user).
+ * <p>
+ * On PostgreSQL a toggle is a single statement: data-modifying CTEs delete the like or
+ * insert it ({@code ON CONFLICT DO NOTHING}), adjust the target's {@code like_count} by the
+ * rows actually changed and return the new state with the new count. The target row is
+ * locked only for that statement, which keeps a burst of likes on one post short and serial.
+ * Other databases (H2 in development) run the equivalent statements in one transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikeService {
+    
+    private static final String POSTGRES_TOGGLE_SQL =
+            "WITH target AS (SELECT id FROM %1$s WHERE id = :targetId), " +
+            "removed AS (DELETE FROM content_likes " +
+            "    WHERE target_type = :targetType AND target_id = :targetId AND user_id = :userId RETURNING 1), " +
+            "added AS (INSERT INTO content_likes (target_type, target_id, user_id, created_at) " +
+            "    SELECT :targetType, id, :userId, now() FROM target WHERE NOT EXISTS (SELECT 1 FROM removed) " +
+            "    ON CONFLICT DO NOTHING RETURNING 1), " +
+            "counted AS (UPDATE %1$s SET like_count = COALESCE(like_count, 0) " +
+            "    + (SELECT COUNT(*) FROM added) - (SELECT COUNT(*) FROM removed) " +
+            "    WHERE id = (SELECT id FROM target) RETURNING like_count) " +
+            "SELECT NOT EXISTS (SELECT 1 FROM removed) AS liked, (SELECT like_count FROM counted) AS like_count";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    private final Map<ContentLike.TargetType, String> toggleSql = new EnumMap<>(ContentLike.TargetType.class);
+    private boolean postgres;
+    
+    @PostConstruct
+    public void initialize() {
+        String product = jdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+        for (ContentLike.TargetType type : ContentLike.TargetType.values()) {
+            toggleSql.put(type, String.format(POSTGRES_TOGGLE_SQL, type.getTableName()));
+        }
+        log.info("Like store using {} toggles", postgres ? "single-statement" : "multi-statement");
+    }
+    
+    /**
+     * Likes the target if the user has not, otherwise removes the like. Concurrent toggles by
+     * the same user settle on a consistent state; the count always matches the stored likes.
+     */
+    @Transactional
+    public LikeStatusDto toggle(ContentLike.TargetType targetType, Long targetId, Long userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("targetType", targetType.ordinal())
+                .addValue("targetId", targetId)
+                .addValue("userId", userId);
+        return postgres ? toggleInOneStatement(targetType, params) : toggleInStatements(targetType, params);
+    }
+    
+    public long getLikeCount(ContentLike.TargetType targetType, Long targetId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT COALESCE(like_count, 0) FROM " + targetType.getTableName() + " WHERE id = :targetId",
+                new MapSqlParameterSource("targetId", targetId), Long.class);
+        if (counts.isEmpty()) {
+            throw notFound(targetType, targetId);
+        }
+        return counts.get(0);
+    }
+    
+    private LikeStatusDto toggleInOneStatement(ContentLike.TargetType targetType, MapSqlParameterSource params) {
+        LikeStatusDto status = jdbcTemplate.queryForObject(toggleSql.get(targetType), params, (rs, rowNum) -> {
+            long likeCount = rs.getLong("like_count");
+            return rs.wasNull() ? null : new LikeStatusDto(rs.getBoolean("liked"), likeCount);
+        });
+        if (status == null) {
+            throw notFound(targetType, (Long) params.getValue("targetId"));
+        }
+        return status;
+    }
+    
+    private LikeStatusDto toggleInStatements(ContentLike.TargetType targetType, MapSqlParameterSource params) {
+        int delta;
+        boolean liked;
+        int removed = jdbcTemplate.update("DELETE FROM content_likes " +
+                "WHERE target_type = :targetType AND target_id = :targetId AND user_id = :userId", params);
+        if (removed > 0) {
+            delta = -1;
+            liked = false;
+        } else {
+            liked = true;
+            try {
+                jdbcTemplate.update("INSERT INTO content_likes (target_type, target_id, user_id, created_at) " +
+                        "VALUES (:targetType, :targetId, :userId, CURRENT_TIMESTAMP)", params);
+                delta = 1;
+            } catch (DuplicateKeyException e) {
+                // Liked concurrently by the same user
+                delta = 0;
+            }
+        }
+        
+        params.addValue("delta", delta);
+        int updated = jdbcTemplate.update("UPDATE " + targetType.getTableName() +
+                " SET like_count = COALESCE(like_count, 0) + :delta WHERE id = :targetId", params);
+        if (updated == 0) {
+            // Rolls back the like inserted for a missing target
+            throw notFound(targetType, (Long) params.getValue("targetId"));
+        }
+        return new LikeStatusDto(liked, getLikeCount(targetType, (Long) params.getValue("targetId")));
+    }
+    
+    private static ResourceNotFoundException notFound(ContentLike.TargetType targetType, Long targetId) {
+        String target = targetType == ContentLike.TargetType.POST ? "Post" : "Comment";
+        return new ResourceNotFoundException(target + " not found with id: " + targetId);
+    }
+}
\ No newline at end of file
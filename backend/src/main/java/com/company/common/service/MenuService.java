@@ -3,8 +3,10 @@ package com.company.common.service;
 import com.company.common.dto.menu.MenuCreateRequest;
 import com.company.common.dto.menu.MenuDto;
 import com.company.common.dto.menu.MenuTreeDto;
+import com.company.common.entity.ChangeLog;
 import com.company.common.entity.Menu;
 import com.company.common.entity.User;
+import com.company.common.exception.BadRequestException;
 import com.company.common.exception.ResourceNotFoundException;
 import com.company.common.repository.MenuRepository;
 import com.company.common.repository.UserRepository;
@@ -16,7 +18,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +31,8 @@ public class MenuService {
     
     private final MenuRepository menuRepository;
     private final UserRepository userRepository;
+    private final ChangeLogService changeLogService;
+    private final BulkDeleteService bulkDeleteService;
     
     @Cacheable(value = "menuTree", key = "#roleId + '_' + #userId")
     public List<MenuTreeDto> getMenuTree(Long roleId, Long userId) {
@@ -66,6 +72,7 @@ public class MenuService {
         }
         
         menu = menuRepository.save(menu);
+        changeLogService.record(ChangeLog.ChangeScope.MENU, null);
         log.info("Menu created: {}", menu.getName());
         
         return convertToDto(menu);
@@ -95,6 +102,7 @@ public class MenuService {
         }
         
         menu = menuRepository.save(menu);
+        changeLogService.record(ChangeLog.ChangeScope.MENU, null);
         log.info("Menu updated: {}", menu.getName());
         
         return convertToDto(menu);
@@ -105,10 +113,36 @@ public class MenuService {
         Menu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu not found with id: " + id));
         
-        menuRepository.delete(menu);
+        bulkDeleteService.deleteMenuTree(id);
+        changeLogService.record(ChangeLog.ChangeScope.MENU, null);
         log.info("Menu deleted: {}", menu.getName());
     }
     
+    @CacheEvict(value = {"menuTree", "userMenuTree"}, allEntries = true)
+    public void reorderMenus(Long parentId, List<Long> menuIds) {
+        if (menuIds.isEmpty()) {
+            return;
+        }
+        
+        Set<Long> requested = new LinkedHashSet<>(menuIds);
+        if (requested.size() != menuIds.size()) {
+            throw new BadRequestException("Duplicate menu ids in reorder request");
+        }
+        
+        // Validate that all ids are siblings under the given parent with a single query
+        List<Long> siblings = parentId != null
+                ? menuRepository.findChildIdsIn(parentId, requested)
+                : menuRepository.findRootIdsIn(requested);
+        if (siblings.size() != requested.size()) {
+            requested.removeAll(siblings);
+            throw new BadRequestException("Menus are not children of parent " + parentId + ": " + requested);
+        }
+        
+        int updated = menuRepository.updateSortOrders(menuIds);
+        changeLogService.record(ChangeLog.ChangeScope.MENU, null);
+        log.info("Reordered {} menus under parent: {}", updated, parentId);
+    }
+    
     @Cacheable(value = "userMenuTree", key = "#userId")
     public List<MenuTreeDto> getUserMenuTree(Long userId) {
         User user = userRepository.findById(userId)
@@ -0,0 +1,100 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.PostDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable schedule of current and upcoming notices.
+ * <p>
+ * The active set only changes when a notice's start or end time passes, so the schedule keeps
+ * the sorted boundary times and caches the active set for the window between two of them.
+ * Inside a window {@link #activeAt} is a volatile read; crossing a boundary recomputes the set
+ * from memory. Start and end times are inclusive; a notice without a start is active right away.
+ */
+final class NoticeSchedule {
+    
+    static final NoticeSchedule EMPTY = new NoticeSchedule(Collections.emptyList());
+    
+    private final List<Entry> entries;
+    private final LocalDateTime[] boundaries;
+    private volatile Window window;
+    
+    /**
+     * @param entries notices in display order
+     */
+    NoticeSchedule(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        TreeSet<LocalDateTime> times = new TreeSet<>();
+        for (Entry entry : entries) {
+            if (entry.start != null) {
+                times.add(entry.start);
+            }
+            if (entry.end != null) {
+                times.add(entry.end.plusNanos(1));
+            }
+        }
+        this.boundaries = times.toArray(new LocalDateTime[0]);
+    }
+    
+    List<PostDto> activeAt(LocalDateTime now) {
+        Window current = window;
+        if (current != null && current.contains(now)) {
+            return current.active;
+        }
+        current = computeWindow(now);
+        window = current;
+        return current.active;
+    }
+    
+    private Window computeWindow(LocalDateTime now) {
+        List<PostDto> active = new ArrayList<>();
+        for (Entry entry : entries) {
+            if ((entry.start == null || !entry.start.isAfter(now)) && (entry.end == null || !entry.end.isBefore(now))) {
+                active.add(entry.post);
+            }
+        }
+        
+        int index = Arrays.binarySearch(boundaries, now);
+        // Index of the first boundary after "now"
+        int next = index >= 0 ? index + 1 : -index - 1;
+        LocalDateTime from = next > 0 ? boundaries[next - 1] : LocalDateTime.MIN;
+        LocalDateTime until = next < boundaries.length ? boundaries[next] : LocalDateTime.MAX;
+        return new Window(from, until, Collections.unmodifiableList(active));
+    }
+    
+    static final class Entry {
+        
+        private final PostDto post;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        
+        Entry(PostDto post, LocalDateTime start, LocalDateTime end) {
+            this.post = post;
+            this.start = start;
+            this.end = end;
+        }
+    }
+    
+    private static final class Window {
+        
+        private final LocalDateTime from;
+        private final LocalDateTime until;
+        private final List<PostDto> active;
+        
+        Window(LocalDateTime from, LocalDateTime until, List<PostDto> active) {
+            this.from = from;
+            this.until = until;
+            this.active = active;
+        }
+        
+        boolean contains(LocalDateTime now) {
+            return !now.isBefore(from) && now.isBefore(until);
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.company.common.service;
 
+import com.company.common.dto.CursorPage;
 import com.company.common.dto.notification.NotificationDto;
 import com.company.common.dto.notification.NotificationRequest;
 import com.company.common.entity.Notification;
@@ -7,6 +8,7 @@ import com.company.common.entity.User;
 import com.company.common.exception.ResourceNotFoundException;
 import com.company.common.repository.NotificationRepository;
 import com.company.common.repository.UserRepository;
+import com.company.common.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -69,6 +71,20 @@ public class NotificationService {
                 .map(this::convertToDto);
     }
     
+    /**
+     * Newest notifications of the user after {@code cursor}, without a count query.
+     */
+    public CursorPage<NotificationDto> getUserNotifications(Long userId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.clampSize(size);
+        List<Notification> notifications = after == null
+                ? notificationRepository.findLatestByUserId(userId, KeysetCursor.limit(limit))
+                : notificationRepository.findByUserIdBefore(userId, after.getCreatedAt(), after.getId(),
+                        KeysetCursor.limit(limit));
+        return KeysetCursor.page(notifications, limit, Notification::getCreatedAt, Notification::getId,
+                this::convertToDto);
+    }
+    
     public List<NotificationDto> getUnreadNotifications(Long userId) {
         return notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId)
                 .stream()
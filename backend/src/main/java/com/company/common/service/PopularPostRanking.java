@@ -0,0 +1,205 @@
+package com.company.common.service;
+
+import com.company.common.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * In-memory popularity ranking of posts with exponential time decay.
+ * <p>
+ * New unique viewers and likes add to a post's score with weight
+ * {@code 2^((t - landmark) / halfLife)} ("forward decay"): an event's contribution halves every
+ * half-life relative to newer events, yet recording one never touches other posts. Scores are
+ * rebased onto a new landmark long before they could overflow.
+ * <p>
+ * Events only reach the node that served them, so the ranking is periodically reconciled
+ * with the database: recent posts are seeded from their stored unique views and likes, decayed
+ * by age, and every post keeps the higher of its live and seeded score. The ordered top list
+ * is recomputed every second and served as an immutable snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopularPostRanking {
+    
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double LIKE_WEIGHT = 5.0;
+    private static final int RANKED_SIZE = 200;
+    private static final int MAX_TRACKED = 5000;
+    private static final double REBASE_HALF_LIVES = 64;
+    
+    private final PostRepository postRepository;
+    
+    @Value("${app.board.popular.half-life-hours:24}")
+    private double halfLifeHours;
+    
+    @Value("${app.board.popular.window-days:30}")
+    private int windowDays;
+    
+    private volatile Scores scores = new Scores(nowSeconds());
+    private volatile List<Long> ranked = Collections.emptyList();
+    private volatile long version;
+    
+    /**
+     * Counts viewers the post had not seen before, as reported by {@link PostViewCounter} once
+     * they are flushed; repeat views never reach the ranking.
+     */
+    public void onNewViewers(Long postId, long viewers) {
+        add(postId, VIEW_WEIGHT * viewers);
+    }
+    
+    public void onLike(Long postId, boolean liked) {
+        add(postId, liked ? LIKE_WEIGHT : -LIKE_WEIGHT);
+    }
+    
+    public void remove(Long postId) {
+        scores.entries.remove(postId);
+    }
+    
+    /**
+     * Post ids ordered by decayed score, best first (at most {@value #RANKED_SIZE}).
+     */
+    public List<Long> getRanking() {
+        return ranked;
+    }
+    
+    /**
+     * Changes whenever {@link #getRanking()} returns a differently ordered list.
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.board.popular.rank-interval-ms:1000}")
+    public synchronized void rank() {
+        Scores current = scores;
+        if (elapsedHalfLives(current.landmark, nowSeconds()) > REBASE_HALF_LIVES) {
+            current = rebase(current);
+        }
+        
+        // Sum each adder once; scores keep moving while we sort
+        List<Ranked> sorted = new ArrayList<>(current.entries.size());
+        current.entries.forEach((postId, score) -> sorted.add(new Ranked(postId, score.sum())));
+        sorted.sort(Comparator.comparingDouble((Ranked r) -> r.score).reversed());
+        
+        List<Long> top = new ArrayList<>(Math.min(RANKED_SIZE, sorted.size()));
+        for (int i = 0; i < sorted.size(); i++) {
+            Ranked entry = sorted.get(i);
+            if (i < RANKED_SIZE && entry.score > 0) {
+                top.add(entry.postId);
+            } else if (i >= MAX_TRACKED) {
+                // Keep the tail bounded; anything evicted can come back with new activity
+                current.entries.remove(entry.postId);
+            }
+        }
+        
+        if (!top.equals(ranked)) {
+            ranked = Collections.unmodifiableList(top);
+            version++;
+        }
+    }
+    
+    /**
+     * Seeds scores from the database, so activity on other nodes and before startup counts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.board.popular.reconcile-cron:0 */10 * * * *}")
+    public void reconcile() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minusDays(windowDays);
+            List<Object[]> rows = postRepository.findPopularityRows(since, PageRequest.of(0, MAX_TRACKED));
+            Scores current = scores;
+            for (Object[] row : rows) {
+                Long postId = (Long) row[0];
+                long createdAt = ((LocalDateTime) row[1]).toEpochSecond(ZoneOffset.UTC);
+                double base = VIEW_WEIGHT * count(row[2]) + LIKE_WEIGHT * count(row[3]);
+                double seed = base * Math.pow(2, elapsedHalfLives(current.landmark, createdAt));
+                
+                DoubleAdder score = current.entries.computeIfAbsent(postId, id -> new DoubleAdder());
+                double live = score.sum();
+                if (seed > live) {
+                    score.add(seed - live);
+                }
+            }
+            rank();
+            log.debug("Popular post ranking reconciled with {} posts", rows.size());
+        } catch (Exception e) {
+            log.warn("Popular post reconciliation failed: {}", e.getMessage());
+        }
+    }
+    
+    private void add(Long postId, double weight) {
+        Scores current = scores;
+        double decayed = weight * Math.pow(2, elapsedHalfLives(current.landmark, nowSeconds()));
+        current.entries.computeIfAbsent(postId, id -> new DoubleAdder()).add(decayed);
+    }
+    
+    /**
+     * Moves every score onto a landmark of "now". Events recorded into the old map while it
+     * is being copied may be missed, which is harmless for a popularity heuristic.
+     */
+    private synchronized Scores rebase(Scores old) {
+        if (scores != old) {
+            return scores;
+        }
+        Scores fresh = new Scores(nowSeconds());
+        double factor = Math.pow(2, -elapsedHalfLives(old.landmark, fresh.landmark));
+        old.entries.forEach((postId, score) -> {
+            DoubleAdder scaled = new DoubleAdder();
+            scaled.add(score.sum() * factor);
+            fresh.entries.put(postId, scaled);
+        });
+        scores = fresh;
+        log.info("Popular post scores rebased onto a new landmark");
+        return fresh;
+    }
+    
+    private double elapsedHalfLives(long fromSeconds, long toSeconds) {
+        return (toSeconds - fromSeconds) / (halfLifeHours * 3600.0);
+    }
+    
+    private static long count(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+    
+    private static long nowSeconds() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    private static final class Ranked {
+        
+        private final Long postId;
+        private final double score;
+        
+        Ranked(Long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+    }
+    
+    private static final class Scores {
+        
+        private final long landmark;
+        private final Map<Long, DoubleAdder> entries = new ConcurrentHashMap<>();
+        
+        Scores(long landmark) {
+            this.landmark = landmark;
+        }
+    }
+}
\ No newline at end of file
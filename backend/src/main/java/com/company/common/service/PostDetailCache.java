@@ -0,0 +1,221 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.PostDto;
+import com.company.common.entity.ChangeLog;
+import com.company.common.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of post detail responses for the hot set of posts.
+ * <p>
+ * Each entry keeps the response without its content on the heap and the content itself as
+ * UTF-8 in a direct buffer, so large bodies of long-lived entries stay out of the old
+ * generation; only the copy handed to a reader is a (short-lived) heap string. Entries are
+ * evicted least recently read first once either the entry count or the off-heap byte budget
+ * is exceeded.
+ * <p>
+ * Views and likes change too often to invalidate on: the view count is overlaid with the views
+ * recorded on this node since the entry was loaded, and a like toggle replaces the cached like
+ * count. Updates, deletes and comment changes drop the entry after commit. Every invalidation
+ * takes a stamp, so a load that started before it cannot put its stale result back. Changes
+ * made on other nodes arrive as {@link RemoteChangeEvent}s; counters moved elsewhere are picked
+ * up when an entry expires.
+ */
+@Slf4j
+@Component
+public class PostDetailCache {
+    
+    @Value("${app.board.detail-cache.max-entries:500}")
+    private int maxEntries;
+    
+    @Value("${app.board.detail-cache.max-bytes:268435456}")
+    private long maxBytes;
+    
+    @Value("${app.board.detail-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+    
+    private final AtomicLong stamps = new AtomicLong();
+    // Guarded by "this"
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<Long, Long> invalidated = new LinkedHashMap<>();
+    private long offHeapBytes;
+    
+    /**
+     * Stamp to pass to {@link #put}; take it before loading the post.
+     */
+    public long stamp() {
+        return stamps.get();
+    }
+    
+    /**
+     * The cached response with live counters overlaid, or {@code null} on a miss.
+     */
+    public PostDto get(Long postId) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(postId);
+            if (entry != null && entry.isExpired(ttlSeconds)) {
+                remove(postId);
+                entry = null;
+            }
+        }
+        return entry != null ? entry.toDto() : null;
+    }
+    
+    /**
+     * Caches a freshly built response unless the post was invalidated after {@code stamp}.
+     */
+    public void put(PostDto post, long stamp) {
+        byte[] body = post.getContent() != null ? post.getContent().getBytes(StandardCharsets.UTF_8) : null;
+        if (body != null && body.length > maxBytes) {
+            return;
+        }
+        Entry entry = new Entry(post, body);
+        synchronized (this) {
+            Long invalidatedAt = invalidated.get(post.getId());
+            if (invalidatedAt != null && invalidatedAt >= stamp) {
+                return;
+            }
+            remove(post.getId());
+            entries.put(post.getId(), entry);
+            offHeapBytes += entry.bodyLength();
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || offHeapBytes > maxBytes) && eldest.hasNext()) {
+                offHeapBytes -= eldest.next().getValue().bodyLength();
+                eldest.remove();
+            }
+        }
+    }
+    
+    public void onView(Long postId) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(postId);
+        }
+        if (entry != null) {
+            entry.views.increment();
+        }
+    }
+    
+    public void onLike(Long postId, long likeCount) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(postId);
+        }
+        if (entry != null) {
+            entry.likeCount = likeCount;
+        }
+    }
+    
+    /**
+     * Drops the post's entry once the current transaction commits.
+     */
+    public void invalidate(Long postId) {
+        TransactionUtils.afterCommit(() -> evict(postId));
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.POST) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            clear();
+            return;
+        }
+        for (String key : event.getKeys()) {
+            evict(Long.parseLong(key));
+        }
+    }
+    
+    private synchronized void evict(Long postId) {
+        invalidated.put(postId, stamps.incrementAndGet());
+        // Only loads still running need the stamp; keep the most recent ones
+        Iterator<Long> eldest = invalidated.keySet().iterator();
+        while (invalidated.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+        remove(postId);
+    }
+    
+    private synchronized void clear() {
+        long stamp = stamps.incrementAndGet();
+        entries.keySet().forEach(postId -> invalidated.put(postId, stamp));
+        entries.clear();
+        offHeapBytes = 0;
+        log.debug("Post detail cache cleared");
+    }
+    
+    private void remove(Long postId) {
+        Entry removed = entries.remove(postId);
+        if (removed != null) {
+            offHeapBytes -= removed.bodyLength();
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final PostDto post;
+        private final ByteBuffer body;
+        private final long loadedAt = System.nanoTime();
+        private final LongAdder views = new LongAdder();
+        private volatile Long likeCount;
+        
+        Entry(PostDto post, byte[] content) {
+            this.post = post.toBuilder()
+                    .content(null)
+                    .likeCount(null)
+                    .tags(post.getTags() != null ? List.copyOf(post.getTags()) : null)
+                    .build();
+            this.likeCount = post.getLikeCount();
+            if (content != null) {
+                this.body = ByteBuffer.allocateDirect(content.length).put(content).flip().asReadOnlyBuffer();
+            } else {
+                this.body = null;
+            }
+        }
+        
+        long bodyLength() {
+            return body != null ? body.capacity() : 0L;
+        }
+        
+        boolean isExpired(long ttlSeconds) {
+            return System.nanoTime() - loadedAt > TimeUnit.SECONDS.toNanos(ttlSeconds);
+        }
+        
+        PostDto toDto() {
+            String content = null;
+            if (body != null) {
+                byte[] bytes = new byte[body.capacity()];
+                // Reading through a duplicate leaves the shared buffer untouched for concurrent readers
+                body.duplicate().get(bytes);
+                content = new String(bytes, StandardCharsets.UTF_8);
+            }
+            long viewCount = (post.getViewCount() != null ? post.getViewCount() : 0L) + views.sum();
+            PostDto dto = post.toBuilder()
+                    .content(content)
+                    .viewCount(viewCount)
+                    .likeCount(likeCount)
+                    .build();
+            if (post.getTags() != null) {
+                dto.setTags(new ArrayList<>(post.getTags()));
+            }
+            return dto;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.PostRevisionDto;
+import com.company.common.dto.board.PostRevisionSummary;
+import com.company.common.entity.Post;
+import com.company.common.entity.PostRevision;
+import com.company.common.entity.User;
+import com.company.common.exception.ResourceNotFoundException;
+import com.company.common.repository.PostRevisionRepository;
+import com.company.common.repository.UserRepository;
+import com.company.common.util.TextDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Edit history of post titles and contents.
+ * <p>
+ * The latest revision keeps no copy of the content; it is the post's own. When an edit
+ * supersedes it, the revision stores a reverse word-level delta ({@link TextDelta}) that turns
+ * the edited content back into its own, so history grows by roughly the size of each change.
+ * Every {@code checkpoint-interval}-th revision stores its content in full instead, as does a
+ * revision whose delta would not be smaller, so rebuilding any revision applies fewer than
+ * {@code checkpoint-interval} deltas starting from the nearest full copy after it.
+ * <p>
+ * Posts written before revisions were tracked get their pre-edit state recorded as revision 1
+ * on their first edit. Callers hold the post's row lock while recording an edit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostRevisionService {
+    
+    private final PostRevisionRepository postRevisionRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${app.board.revisions.checkpoint-interval:20}")
+    private int checkpointInterval;
+    
+    @Value("${app.board.revisions.max-delta-edits:2000}")
+    private int maxDeltaEdits;
+    
+    @Transactional
+    public void recordCreated(Post post) {
+        postRevisionRepository.save(latest(post.getId(), 1, post.getTitle(), post.getContent(),
+                post.getAuthor().getId(), LocalDateTime.now()));
+    }
+    
+    /**
+     * Records an edit of the post's title or content; {@code post} already holds the new values.
+     */
+    @Transactional
+    public void recordEdit(Post post, String previousTitle, String previousContent, Long editorId) {
+        String previous = previousContent != null ? previousContent : "";
+        String current = post.getContent() != null ? post.getContent() : "";
+        PostRevision superseded = postRevisionRepository.findTopByPostIdOrderByRevisionNumberDesc(post.getId())
+                .orElseGet(() -> latest(post.getId(), 1, previousTitle, previous,
+                        post.getAuthor().getId(), post.getCreatedAt()));
+        
+        String delta = null;
+        if (superseded.getRevisionNumber() % checkpointInterval != 0) {
+            delta = TextDelta.diff(current, previous, maxDeltaEdits);
+        }
+        if (delta != null && delta.length() < previous.length()) {
+            superseded.setStorage(PostRevision.Storage.DELTA);
+            superseded.setPayload(delta);
+        } else {
+            superseded.setStorage(PostRevision.Storage.FULL);
+            superseded.setPayload(previous);
+        }
+        postRevisionRepository.save(superseded);
+        postRevisionRepository.save(latest(post.getId(), superseded.getRevisionNumber() + 1, post.getTitle(),
+                current, editorId, LocalDateTime.now()));
+    }
+    
+    /**
+     * The post's revisions without content, newest first.
+     */
+    public List<PostRevisionDto> getRevisions(Long postId) {
+        return postRevisionRepository.findSummariesByPostId(postId).stream()
+                .map(summary -> toDto(postId, summary))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * The revision with its content, rebuilt from the nearest full copy at or after it.
+     */
+    public PostRevisionDto getRevision(Post post, Integer revisionNumber) {
+        Integer anchor = postRevisionRepository.findAnchorRevisionNumber(post.getId(), revisionNumber);
+        List<PostRevision> chain = anchor != null
+                ? postRevisionRepository.findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberDesc(
+                        post.getId(), revisionNumber, anchor)
+                : List.of();
+        if (chain.isEmpty() || !chain.get(chain.size() - 1).getRevisionNumber().equals(revisionNumber)) {
+            throw new ResourceNotFoundException("Revision " + revisionNumber + " not found for post: " + post.getId());
+        }
+        
+        PostRevision first = chain.get(0);
+        String content = first.getStorage() == PostRevision.Storage.LATEST
+                ? (post.getContent() != null ? post.getContent() : "")
+                : first.getPayload();
+        for (PostRevision older : chain.subList(1, chain.size())) {
+            content = TextDelta.apply(content, older.getPayload());
+        }
+        
+        PostRevision revision = chain.get(chain.size() - 1);
+        if (content.length() != revision.getContentLength()) {
+            log.error("Revision {} of post {} rebuilt with {} characters instead of {}",
+                    revisionNumber, post.getId(), content.length(), revision.getContentLength());
+            throw new IllegalStateException("Revision history of post " + post.getId() + " is inconsistent");
+        }
+        return PostRevisionDto.builder()
+                .postId(post.getId())
+                .revisionNumber(revision.getRevisionNumber())
+                .title(revision.getTitle())
+                .editorId(revision.getEditorId())
+                .editorName(revision.getEditorId() != null
+                        ? userRepository.findById(revision.getEditorId()).map(User::getFullName).orElse(null)
+                        : null)
+                .contentLength(revision.getContentLength())
+                .createdAt(revision.getCreatedAt())
+                .content(content)
+                .build();
+    }
+    
+    private static PostRevision latest(Long postId, int revisionNumber, String title, String content,
+                                       Long editorId, LocalDateTime createdAt) {
+        return PostRevision.builder()
+                .postId(postId)
+                .revisionNumber(revisionNumber)
+                .title(title)
+                .editorId(editorId)
+                .contentLength(content != null ? content.length() : 0)
+                .storage(PostRevision.Storage.LATEST)
+                .createdAt(createdAt)
+                .build();
+    }
+    
+    private static PostRevisionDto toDto(Long postId, PostRevisionSummary summary) {
+        return PostRevisionDto.builder()
+                .postId(postId)
+                .revisionNumber(summary.getRevisionNumber())
+                .title(summary.getTitle())
+                .editorId(summary.getEditorId())
+                .editorName(summary.getEditorFirstName() != null
+                        ? summary.getEditorFirstName() + " " + summary.getEditorLastName()
+                        : null)
+                .contentLength(summary.getContentLength())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+}
\ No newline at end of file
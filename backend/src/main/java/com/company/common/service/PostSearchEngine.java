@@ -0,0 +1,24 @@
+package com.company.common.service;
+
+import com.company.common.entity.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Full-text search over published posts, selected with {@code app.search.engine}.
+ * <p>
+ * Results are post ids ordered by creation time (newest first unless the pageable sorts
+ * {@code createdAt} ascending); callers load the posts themselves. Engines that keep their
+ * own index apply {@link #index} and {@link #remove} once the surrounding transaction commits.
+ */
+public interface PostSearchEngine {
+    
+    Page<Long> search(PostSearchQuery query, Pageable pageable);
+    
+    /**
+     * Adds or refreshes a post. Drafts are removed from the index instead.
+     */
+    void index(Post post);
+    
+    void remove(Long postId);
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.company.common.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria for a {@link PostSearchEngine} query. The keyword is split into lower-cased
+ * letter/digit terms; a post matches when every term prefixes a word of the searched field.
+ * Tag filters combine: at least one of {@code tags}, every one of {@code allTags} and none of
+ * {@code excludedTags}.
+ */
+@Getter
+@Builder
+public class PostSearchQuery {
+    
+    private final List<String> terms;
+    private final Field field;
+    private final Long boardId;
+    private final String category;
+    private final List<String> tags;
+    private final List<String> allTags;
+    private final List<String> excludedTags;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    
+    public static PostSearchQueryBuilder keyword(String keyword) {
+        return builder().terms(tokenize(keyword)).field(Field.ALL);
+    }
+    
+    public boolean hasTags() {
+        return tags != null && !tags.isEmpty();
+    }
+    
+    public boolean hasAllTags() {
+        return allTags != null && !allTags.isEmpty();
+    }
+    
+    public boolean hasExcludedTags() {
+        return excludedTags != null && !excludedTags.isEmpty();
+    }
+    
+    /**
+     * Splits text into distinct lower-cased runs of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+    
+    public enum Field {
+        TITLE, CONTENT, AUTHOR, ALL;
+        
+        /**
+         * Maps the {@code searchType} request parameter; anything unknown searches all fields.
+         */
+        public static Field from(String searchType) {
+            if (searchType != null) {
+                for (Field field : values()) {
+                    if (field.name().equalsIgnoreCase(searchType.trim())) {
+                        return field;
+                    }
+                }
+            }
+            return ALL;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,301 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.TagCountDto;
+import com.company.common.entity.ChangeLog;
+import com.company.common.repository.PostRepository;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tag filtering over the {@code post_tags} inverted index.
+ * <p>
+ * Posting lists (published post ids of one tag on one board, sorted ascending) are read from
+ * the {@code (tag, post_id)} index and kept in an LRU cache bounded by the total number of
+ * cached ids, so hot tags are answered from memory. A category filter is applied when a
+ * positive list is read, so it is cached per tag and category. Filters combine them with sorted merges:
+ * intersection for AND, union for OR, difference for NOT. Per-board tag counts for the tag
+ * cloud are cached the same way.
+ * <p>
+ * Any post change invalidates its board; a per-board generation keeps a load that raced with
+ * an invalidation from caching stale postings. Changes from other nodes arrive as
+ * {@link RemoteChangeEvent}s.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostTagIndex {
+    
+    private static final int MAX_TAG_LENGTH = 50;
+    private static final long[] EMPTY = new long[0];
+    
+    private final PostRepository postRepository;
+    
+    @Value("${app.board.tag-cache-max-ids:2000000}")
+    private long maxCachedIds;
+    
+    // Guarded by "this"
+    private final LinkedHashMap<PostingKey, long[]> postings = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedIds;
+    private final Map<Long, List<TagCountDto>> tagCounts = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    
+    /**
+     * Canonical form of user-supplied tags: trimmed, lower case, without blanks or duplicates.
+     */
+    public static Set<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            if (tag == null) {
+                continue;
+            }
+            String value = tag.trim().toLowerCase(Locale.ROOT);
+            if (!value.isEmpty()) {
+                normalized.add(value.length() > MAX_TAG_LENGTH ? value.substring(0, MAX_TAG_LENGTH) : value);
+            }
+        }
+        return normalized;
+    }
+    
+    /**
+     * Ids of the board's published posts carrying every tag in {@code all}, at least one tag in
+     * {@code any} (when given) and none in {@code none}, sorted ascending. At least one of
+     * {@code all} and {@code any} must be non-empty. A non-null {@code category} restricts the
+     * result to that category.
+     */
+    public long[] match(Long boardId, String category, Set<String> all, Set<String> any, Set<String> none) {
+        if (all.isEmpty() && any.isEmpty()) {
+            throw new IllegalArgumentException("A positive tag filter is required");
+        }
+        
+        long[] result = null;
+        // Intersect the shortest lists first so later merges stay small
+        List<long[]> required = new ArrayList<>(all.size());
+        for (String tag : all) {
+            required.add(getPostings(boardId, tag, category));
+        }
+        required.sort(Comparator.comparingInt(ids -> ids.length));
+        for (long[] ids : required) {
+            result = result == null ? ids : intersect(result, ids);
+            if (result.length == 0) {
+                return EMPTY;
+            }
+        }
+        
+        if (!any.isEmpty()) {
+            long[] union = EMPTY;
+            for (String tag : any) {
+                union = union(union, getPostings(boardId, tag, category));
+            }
+            result = result == null ? union : intersect(result, union);
+        }
+        for (String tag : none) {
+            if (result.length == 0) {
+                break;
+            }
+            // The result is already within the category; the unfiltered list is shared
+            result = difference(result, getPostings(boardId, tag, null));
+        }
+        return result;
+    }
+    
+    /**
+     * Tags of the board's published posts by descending use.
+     */
+    public List<TagCountDto> getTagCounts(Long boardId, int limit) {
+        List<TagCountDto> counts = tagCounts.get(boardId);
+        if (counts == null) {
+            long generation = generation(boardId).get();
+            List<TagCountDto> loaded = new ArrayList<>();
+            for (Object[] row : postRepository.countTagsByBoardId(boardId)) {
+                loaded.add(new TagCountDto((String) row[0], (Long) row[1]));
+            }
+            counts = Collections.unmodifiableList(loaded);
+            tagCounts.put(boardId, counts);
+            if (generation(boardId).get() != generation) {
+                // Invalidated while loading
+                tagCounts.remove(boardId, counts);
+            }
+        }
+        return counts.size() > limit ? counts.subList(0, limit) : counts;
+    }
+    
+    /**
+     * Drops the board's cached postings and counts once the current transaction commits.
+     */
+    public void invalidateBoard(Long boardId) {
+        TransactionUtils.afterCommit(() -> evict(boardId));
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.POST) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            clear();
+            return;
+        }
+        for (String key : event.getKeys()) {
+            Optional<Long> boardId = postRepository.findBoardIdById(Long.parseLong(key));
+            if (boardId.isPresent()) {
+                evict(boardId.get());
+            } else {
+                // Deleted post: its board is unknown now
+                clear();
+                return;
+            }
+        }
+    }
+    
+    private long[] getPostings(Long boardId, String tag, String category) {
+        PostingKey key = new PostingKey(boardId, tag, category);
+        synchronized (this) {
+            long[] cached = postings.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
+        long generation = generation(boardId).get();
+        List<Long> ids = category != null
+                ? postRepository.findPublishedIdsByBoardIdAndTagAndCategory(boardId, tag, category)
+                : postRepository.findPublishedIdsByBoardIdAndTag(boardId, tag);
+        long[] loaded = new long[ids.size()];
+        for (int i = 0; i < loaded.length; i++) {
+            loaded[i] = ids.get(i);
+        }
+        
+        synchronized (this) {
+            if (generation(boardId).get() == generation && loaded.length <= maxCachedIds) {
+                long[] previous = postings.put(key, loaded);
+                cachedIds += loaded.length - (previous != null ? previous.length : 0);
+                Iterator<long[]> eldest = postings.values().iterator();
+                while (cachedIds > maxCachedIds && eldest.hasNext()) {
+                    cachedIds -= eldest.next().length;
+                    eldest.remove();
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    private void evict(Long boardId) {
+        generation(boardId).incrementAndGet();
+        tagCounts.remove(boardId);
+        synchronized (this) {
+            Iterator<Map.Entry<PostingKey, long[]>> iterator = postings.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<PostingKey, long[]> entry = iterator.next();
+                if (entry.getKey().boardId.equals(boardId)) {
+                    cachedIds -= entry.getValue().length;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+    
+    private void clear() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        tagCounts.clear();
+        synchronized (this) {
+            postings.clear();
+            cachedIds = 0;
+        }
+        log.debug("Tag posting cache cleared");
+    }
+    
+    private AtomicLong generation(Long boardId) {
+        return generations.computeIfAbsent(boardId, id -> new AtomicLong());
+    }
+    
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+    
+    private static long[] union(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+    
+    private static long[] difference(long[] a, long[] b) {
+        long[] out = new long[a.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length) {
+            if (j == b.length || a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+    
+    private static final class PostingKey {
+        
+        private final Long boardId;
+        private final String tag;
+        private final String category;
+        
+        PostingKey(Long boardId, String tag, String category) {
+            this.boardId = boardId;
+            this.tag = tag;
+            this.category = category;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PostingKey)) {
+                return false;
+            }
+            PostingKey other = (PostingKey) o;
+            return boardId.equals(other.boardId) && tag.equals(other.tag) && Objects.equals(category, other.category);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(boardId, tag, category);
+        }
+    }
+}
\ No newline at end of file
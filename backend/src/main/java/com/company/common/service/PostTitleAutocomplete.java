@@ -0,0 +1,448 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.TitleSuggestionDto;
+import com.company.common.entity.ChangeLog;
+import com.company.common.repository.PostRepository;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-board title autocomplete over an in-memory radix tree of normalized titles.
+ * <p>
+ * Titles are normalized (NFKC, lower case, single spaces) and stored path-compressed, so the
+ * tree has at most about two nodes per title. Every node keeps the best few post ids of its
+ * subtree by popularity (views plus weighted likes), which makes a lookup a walk down the
+ * typed prefix and a copy of that list, independent of how many titles match. Inserting or
+ * removing a title updates those lists along its path only.
+ * <p>
+ * The trees are built at startup from a streaming scan of published posts and rebuilt
+ * periodically to pick up changed popularity. Post writes refresh the affected posts from the
+ * database after commit; changes from other nodes arrive as {@link RemoteChangeEvent}s.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostTitleAutocomplete {
+    
+    private static final double LIKE_WEIGHT = 5.0;
+    
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${app.board.autocomplete.max-suggestions:10}")
+    private int maxSuggestions;
+    
+    private volatile Map<Long, BoardTitles> boards = new ConcurrentHashMap<>();
+    // Guarded by "this"; posts changed while a rebuild scans, refreshed again after the swap
+    private Set<Long> changedDuringRebuild;
+    
+    /**
+     * Titles of the board's published posts starting with {@code prefix}, most popular first.
+     */
+    public List<TitleSuggestionDto> suggest(Long boardId, String prefix, int limit) {
+        BoardTitles titles = boards.get(boardId);
+        if (titles == null) {
+            return Collections.emptyList();
+        }
+        return titles.suggest(normalize(prefix), Math.min(limit, maxSuggestions));
+    }
+    
+    /**
+     * Re-reads the posts once the current transaction commits: changed titles move, deleted
+     * posts and drafts drop out.
+     */
+    public void refreshAfterCommit(Collection<Long> postIds) {
+        List<Long> ids = new ArrayList<>(postIds);
+        TransactionUtils.afterCommit(() -> refreshQuietly(ids));
+    }
+    
+    public void removeBoardAfterCommit(Long boardId) {
+        TransactionUtils.afterCommit(() -> boards.remove(boardId));
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.POST) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            rebuildQuietly();
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String key : event.getKeys()) {
+            ids.add(Long.parseLong(key));
+        }
+        refreshQuietly(ids);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.board.autocomplete.rebuild-cron:0 0 * * * *}")
+    public void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Title autocomplete rebuild failed: {}", e.getMessage());
+        }
+    }
+    
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        Map<Long, BoardTitles> built = new ConcurrentHashMap<>();
+        try {
+            int count = transactionTemplate.execute(status -> {
+                int rows = 0;
+                try (Stream<Object[]> stream = postRepository.streamTitleRows()) {
+                    Iterator<Object[]> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        Object[] row = iterator.next();
+                        built.computeIfAbsent((Long) row[1], id -> new BoardTitles(maxSuggestions))
+                                .put((Long) row[0], (String) row[2], score(row[3], row[4]));
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+            boards = built;
+            log.info("Title autocomplete built for {} posts in {} boards", count, built.size());
+        } finally {
+            Set<Long> changed;
+            synchronized (this) {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+            }
+            if (!changed.isEmpty()) {
+                refreshQuietly(changed);
+            }
+        }
+    }
+    
+    private void refreshQuietly(Collection<Long> postIds) {
+        try {
+            refresh(postIds);
+        } catch (Exception e) {
+            log.warn("Title autocomplete refresh failed: {}", e.getMessage());
+        }
+    }
+    
+    private void refresh(Collection<Long> postIds) {
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(postIds);
+            }
+        }
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : postRepository.findTitleRowsByIdIn(postIds)) {
+            rows.put((Long) row[0], row);
+        }
+        Map<Long, BoardTitles> current = boards;
+        for (Long postId : postIds) {
+            Object[] row = rows.get(postId);
+            Long boardId = row != null ? (Long) row[1] : null;
+            // A post can only have moved out of its board by deletion, but check every board
+            current.forEach((id, titles) -> {
+                if (!id.equals(boardId)) {
+                    titles.remove(postId);
+                }
+            });
+            if (row != null) {
+                current.computeIfAbsent(boardId, id -> new BoardTitles(maxSuggestions))
+                        .put(postId, (String) row[2], score(row[3], row[4]));
+            }
+        }
+    }
+    
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+    
+    private static double score(Object views, Object likes) {
+        long viewCount = views != null ? ((Number) views).longValue() : 0L;
+        long likeCount = likes != null ? ((Number) likes).longValue() : 0L;
+        return viewCount + LIKE_WEIGHT * likeCount;
+    }
+    
+    /**
+     * Radix tree of one board's titles. All access is synchronized on the instance; a lookup
+     * touches at most one node per typed character.
+     */
+    static final class BoardTitles {
+        
+        private static final long[] NO_IDS = new long[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        
+        private final int topSize;
+        private final Node root = new Node("");
+        private final Map<Long, Title> titles = new HashMap<>();
+        private final Comparator<Long> byPopularity;
+        
+        BoardTitles(int topSize) {
+            this.topSize = topSize;
+            this.byPopularity = Comparator.comparingDouble((Long id) -> titles.get(id).score).reversed()
+                    .thenComparing(Comparator.reverseOrder());
+        }
+        
+        synchronized void put(Long postId, String title, double score) {
+            Title previous = titles.get(postId);
+            if (previous != null) {
+                delete(previous.key, postId);
+            }
+            Title entry = new Title(title, normalize(title), score);
+            titles.put(postId, entry);
+            insert(entry.key, postId);
+        }
+        
+        synchronized void remove(Long postId) {
+            Title previous = titles.get(postId);
+            if (previous != null) {
+                delete(previous.key, postId);
+                titles.remove(postId);
+            }
+        }
+        
+        synchronized List<TitleSuggestionDto> suggest(String prefix, int limit) {
+            Node node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                Node child = node.child(prefix.charAt(i));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int remaining = prefix.length() - i;
+                if (child.label.length() >= remaining) {
+                    // The prefix ends on this edge
+                    if (!child.label.startsWith(prefix.substring(i))) {
+                        return Collections.emptyList();
+                    }
+                } else if (!prefix.startsWith(child.label, i)) {
+                    return Collections.emptyList();
+                }
+                i += Math.min(child.label.length(), remaining);
+                node = child;
+            }
+            
+            List<TitleSuggestionDto> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+            for (int k = 0; k < node.top.length && suggestions.size() < limit; k++) {
+                suggestions.add(new TitleSuggestionDto(node.top[k], titles.get(node.top[k]).title));
+            }
+            return suggestions;
+        }
+        
+        private void insert(String key, long postId) {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    Node leaf = new Node(key.substring(i));
+                    node.addChild(leaf);
+                    node = leaf;
+                    path.add(node);
+                    i = key.length();
+                    break;
+                }
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // Split the edge at the point where the key diverges
+                    Node middle = new Node(child.label.substring(0, common));
+                    node.replaceChild(child, middle);
+                    child.label = child.label.substring(common);
+                    middle.children = new Node[] {child};
+                    middle.top = child.top;
+                    child = middle;
+                }
+                node = child;
+                path.add(node);
+                i += common;
+            }
+            node.terminal = append(node.terminal, postId);
+            for (int k = path.size() - 1; k >= 0; k--) {
+                updateTop(path.get(k));
+            }
+        }
+        
+        private void delete(String key, long postId) {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null || !key.startsWith(child.label, i)) {
+                    return;
+                }
+                node = child;
+                path.add(node);
+                i += child.label.length();
+            }
+            node.terminal = without(node.terminal, postId);
+            
+            for (int k = path.size() - 1; k >= 1; k--) {
+                Node current = path.get(k);
+                Node parent = path.get(k - 1);
+                if (current.terminal.length == 0 && current.children.length == 0) {
+                    parent.removeChild(current);
+                } else if (current.terminal.length == 0 && current.children.length == 1) {
+                    // Merge a pass-through node into its only child
+                    Node only = current.children[0];
+                    only.label = current.label + only.label;
+                    parent.replaceChild(current, only);
+                } else {
+                    updateTop(current);
+                }
+            }
+            updateTop(root);
+        }
+        
+        private void updateTop(Node node) {
+            List<Long> candidates = new ArrayList<>(node.terminal.length + node.children.length * topSize);
+            for (long id : node.terminal) {
+                candidates.add(id);
+            }
+            for (Node child : node.children) {
+                for (long id : child.top) {
+                    candidates.add(id);
+                }
+            }
+            candidates.sort(byPopularity);
+            int size = Math.min(topSize, candidates.size());
+            long[] top = new long[size];
+            for (int k = 0; k < size; k++) {
+                top[k] = candidates.get(k);
+            }
+            node.top = top;
+        }
+        
+        private static int commonPrefixLength(String label, String key, int offset) {
+            int max = Math.min(label.length(), key.length() - offset);
+            int n = 0;
+            while (n < max && label.charAt(n) == key.charAt(offset + n)) {
+                n++;
+            }
+            return n;
+        }
+        
+        private static long[] append(long[] ids, long id) {
+            long[] grown = Arrays.copyOf(ids, ids.length + 1);
+            grown[ids.length] = id;
+            return grown;
+        }
+        
+        private static long[] without(long[] ids, long id) {
+            for (int k = 0; k < ids.length; k++) {
+                if (ids[k] == id) {
+                    long[] shrunk = new long[ids.length - 1];
+                    System.arraycopy(ids, 0, shrunk, 0, k);
+                    System.arraycopy(ids, k + 1, shrunk, k, ids.length - k - 1);
+                    return shrunk.length == 0 ? NO_IDS : shrunk;
+                }
+            }
+            return ids;
+        }
+        
+        private static final class Node {
+            
+            private String label;
+            // Sorted by the first character of their labels, which differ between siblings
+            private Node[] children = NO_CHILDREN;
+            // Posts whose normalized title ends exactly here
+            private long[] terminal = NO_IDS;
+            // Most popular posts of the subtree, best first
+            private long[] top = NO_IDS;
+            
+            Node(String label) {
+                this.label = label;
+            }
+            
+            Node child(char first) {
+                int index = indexOf(first);
+                return index >= 0 ? children[index] : null;
+            }
+            
+            void addChild(Node child) {
+                int index = -indexOf(child.label.charAt(0)) - 1;
+                Node[] grown = new Node[children.length + 1];
+                System.arraycopy(children, 0, grown, 0, index);
+                grown[index] = child;
+                System.arraycopy(children, index, grown, index + 1, children.length - index);
+                children = grown;
+            }
+            
+            void replaceChild(Node old, Node replacement) {
+                children[indexOf(old.label.charAt(0))] = replacement;
+            }
+            
+            void removeChild(Node child) {
+                int index = indexOf(child.label.charAt(0));
+                Node[] shrunk = new Node[children.length - 1];
+                System.arraycopy(children, 0, shrunk, 0, index);
+                System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+                children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+            }
+            
+            private int indexOf(char first) {
+                int low = 0;
+                int high = children.length - 1;
+                while (low <= high) {
+                    int mid = (low + high) >>> 1;
+                    char c = children[mid].label.charAt(0);
+                    if (c < first) {
+                        low = mid + 1;
+                    } else if (c > first) {
+                        high = mid - 1;
+                    } else {
+                        return mid;
+                    }
+                }
+                return -low - 1;
+            }
+        }
+        
+        private static final class Title {
+            
+            private final String title;
+            private final String key;
+            private final double score;
+            
+            Title(String title, String key, double score) {
+                this.title = title;
+                this.key = key;
+                this.score = score;
+            }
+        }
+    }
+}
\ No newline at end of file
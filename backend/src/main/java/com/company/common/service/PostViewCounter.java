@@ -0,0 +1,292 @@
+package com.company.common.service;
+
+import com.company.common.entity.PostViewSketch;
+import com.company.common.repository.PostRepository;
+import com.company.common.repository.PostViewSketchRepository;
+import com.company.common.util.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for post views.
+ * <p>
+ * Views are added to a {@link LongAdder} per post, so concurrent readers of a hot post never
+ * touch its row. Viewers (user id or hashed client address) are collected per post as hashes
+ * and merged into the post's persisted {@link HyperLogLog} sketch, whose estimate becomes
+ * {@code posts.unique_view_count}. Both are written periodically in one transaction (and once
+ * more on shutdown); a failed flush puts everything back for the next attempt. Readers add
+ * {@link #getPending} to the persisted view count so it stays live between flushes.
+ * <p>
+ * Once a flush commits, the growth of each post's unique-viewer estimate is passed to
+ * {@link PopularPostRanking}, so repeated views by the same viewer do not raise a post's rank.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostViewCounter {
+    
+    private static final String FLUSH_VIEWS_SQL = "UPDATE posts SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+    private static final String FLUSH_UNIQUE_SQL = "UPDATE posts SET unique_view_count = ? WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostRepository postRepository;
+    private final PostViewSketchRepository postViewSketchRepository;
+    private final PopularPostRanking popularPostRanking;
+    
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ViewerBuffer> pendingViewers = new ConcurrentHashMap<>();
+    // Deltas taken out of "pending" by the running flush and not committed yet
+    private volatile Map<Long, Long> inFlight = Collections.emptyMap();
+    // Guarded by "this"; adders dropped as idle, drained once more in case a late increment hit them
+    private final Map<Long, LongAdder> retired = new HashMap<>();
+    
+    public void increment(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+    
+    /**
+     * Counts a view and remembers the viewer for the unique-viewer estimate.
+     *
+     * @param viewerKey stable viewer identity such as {@code "u:42"}; {@code null} only counts the view
+     */
+    public void recordView(Long postId, String viewerKey) {
+        increment(postId);
+        if (viewerKey == null) {
+            return;
+        }
+        long hash = HyperLogLog.hash(viewerKey);
+        // compute() keeps the add atomic with the removal in drainViewers()
+        pendingViewers.compute(postId, (id, buffer) -> {
+            ViewerBuffer target = buffer != null ? buffer : new ViewerBuffer();
+            target.add(hash);
+            return target;
+        });
+    }
+    
+    /**
+     * Views recorded for the post that are not yet reflected in {@code posts.view_count}.
+     */
+    public long getPending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        long count = adder != null ? adder.sum() : 0L;
+        Long flushing = inFlight.get(postId);
+        return flushing != null ? count + flushing : count;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.board.view-flush-interval-ms:10000}")
+    public void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("View count flush failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Writes all pending view deltas and viewers. Returns the number of posts updated.
+     */
+    public synchronized int flush() {
+        Map<Long, Long> deltas = drainViewCounts();
+        Map<Long, ViewerBuffer> viewers = drainViewers();
+        if (deltas.isEmpty() && viewers.isEmpty()) {
+            return 0;
+        }
+        
+        inFlight = deltas;
+        try {
+            Map<Long, Long> newViewers = transactionTemplate.execute(status -> {
+                writeViewCounts(deltas);
+                return writeViewers(viewers);
+            });
+            newViewers.forEach(popularPostRanking::onNewViewers);
+            Set<Long> updated = new HashSet<>(deltas.keySet());
+            updated.addAll(viewers.keySet());
+            log.debug("Flushed views for {} posts", updated.size());
+            return updated.size();
+        } catch (RuntimeException e) {
+            deltas.forEach((postId, delta) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta));
+            viewers.forEach((postId, buffer) -> pendingViewers.merge(postId, buffer, ViewerBuffer::absorb));
+            throw e;
+        } finally {
+            inFlight = Collections.emptyMap();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        try {
+            int flushed = flush();
+            log.info("Flushed pending views for {} posts on shutdown", flushed);
+        } catch (Exception e) {
+            log.error("Failed to flush views on shutdown", e);
+        }
+    }
+    
+    private Map<Long, Long> drainViewCounts() {
+        // Sorted by id so concurrent flushes from several nodes lock rows in the same order
+        Map<Long, Long> deltas = new TreeMap<>();
+        retired.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(postId, delta);
+            }
+        });
+        retired.clear();
+        
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.merge(postId, delta, Long::sum);
+            } else if (pending.remove(postId, adder)) {
+                retired.put(postId, adder);
+            }
+        });
+        return deltas;
+    }
+    
+    private Map<Long, ViewerBuffer> drainViewers() {
+        Map<Long, ViewerBuffer> viewers = new TreeMap<>();
+        for (Long postId : pendingViewers.keySet()) {
+            ViewerBuffer buffer = pendingViewers.remove(postId);
+            if (buffer != null) {
+                viewers.put(postId, buffer);
+            }
+        }
+        return viewers;
+    }
+    
+    private void writeViewCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> batch.add(new Object[] {delta, postId}));
+        jdbcTemplate.batchUpdate(FLUSH_VIEWS_SQL, batch);
+    }
+    
+    /**
+     * Merges the buffered viewers into the persisted sketches under a row lock, so flushes
+     * from several nodes cannot overwrite each other's registers. Returns by how much each
+     * post's unique-viewer estimate grew.
+     */
+    private Map<Long, Long> writeViewers(Map<Long, ViewerBuffer> viewers) {
+        Map<Long, Long> newViewers = new HashMap<>();
+        if (viewers.isEmpty()) {
+            return newViewers;
+        }
+        Map<Long, PostViewSketch> rows = new HashMap<>();
+        for (PostViewSketch row : postViewSketchRepository.findForUpdate(viewers.keySet())) {
+            rows.put(row.getPostId(), row);
+        }
+        // Viewers of posts deleted in the meantime are dropped
+        Set<Long> existing = new HashSet<>(postRepository.findExistingIds(viewers.keySet()));
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<PostViewSketch> changed = new ArrayList<>(viewers.size());
+        List<Object[]> counts = new ArrayList<>(viewers.size());
+        viewers.forEach((postId, buffer) -> {
+            if (!existing.contains(postId)) {
+                return;
+            }
+            PostViewSketch row = rows.get(postId);
+            HyperLogLog sketch = row != null ? HyperLogLog.fromBytes(row.getRegisters()) : new HyperLogLog();
+            if (!buffer.addTo(sketch) && row != null) {
+                return;
+            }
+            long uniqueCount = sketch.estimate();
+            long previousCount = row != null && row.getUniqueCount() != null ? row.getUniqueCount() : 0L;
+            if (uniqueCount > previousCount) {
+                newViewers.put(postId, uniqueCount - previousCount);
+            }
+            if (row == null) {
+                row = PostViewSketch.builder().postId(postId).build();
+            }
+            row.setRegisters(sketch.toBytes());
+            row.setUniqueCount(uniqueCount);
+            row.setUpdatedAt(now);
+            changed.add(row);
+            counts.add(new Object[] {uniqueCount, postId});
+        });
+        
+        postViewSketchRepository.saveAll(changed);
+        if (!counts.isEmpty()) {
+            jdbcTemplate.batchUpdate(FLUSH_UNIQUE_SQL, counts);
+        }
+        return newViewers;
+    }
+    
+    /**
+     * Viewer hashes seen since the last flush. Most posts get a handful of viewers per
+     * interval, so hashes are kept in a small array and only a busy post pays for a sketch.
+     */
+    private static final class ViewerBuffer {
+        
+        private static final int SKETCH_THRESHOLD = 512;
+        
+        private long[] hashes = new long[4];
+        private int size;
+        private HyperLogLog sketch;
+        
+        void add(long hash) {
+            if (sketch != null) {
+                sketch.offer(hash);
+                return;
+            }
+            if (size == hashes.length) {
+                if (size >= SKETCH_THRESHOLD) {
+                    toSketch().offer(hash);
+                    return;
+                }
+                hashes = Arrays.copyOf(hashes, size << 1);
+            }
+            hashes[size++] = hash;
+        }
+        
+        /**
+         * Adds the buffered viewers to {@code target}. Returns whether any register changed.
+         */
+        boolean addTo(HyperLogLog target) {
+            if (sketch != null) {
+                return target.merge(sketch);
+            }
+            boolean changed = false;
+            for (int i = 0; i < size; i++) {
+                changed |= target.offer(hashes[i]);
+            }
+            return changed;
+        }
+        
+        ViewerBuffer absorb(ViewerBuffer other) {
+            if (other.sketch != null) {
+                toSketch().merge(other.sketch);
+            } else {
+                for (int i = 0; i < other.size; i++) {
+                    add(other.hashes[i]);
+                }
+            }
+            return this;
+        }
+        
+        private HyperLogLog toSketch() {
+            if (sketch == null) {
+                HyperLogLog upgraded = new HyperLogLog();
+                addTo(upgraded);
+                sketch = upgraded;
+                hashes = null;
+                size = 0;
+            }
+            return sketch;
+        }
+    }
+}
\ No newline at end of file
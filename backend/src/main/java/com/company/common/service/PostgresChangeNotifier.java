@@ -0,0 +1,98 @@
+package com.company.common.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * {@link ChangeNotifier} backed by PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * Enabled with {@code app.change-log.transport=postgres}. One pooled connection is held by a
+ * daemon thread waiting for notifications; the driver API is reached reflectively because
+ * the PostgreSQL driver is only a runtime dependency.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.change-log.transport", havingValue = "postgres")
+public class PostgresChangeNotifier implements ChangeNotifier {
+    
+    private static final String CHANNEL = "app_change_log";
+    private static final int WAIT_TIMEOUT_MILLIS = 10_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000L;
+    
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    
+    private volatile boolean running;
+    private Thread listenerThread;
+    
+    @Override
+    public void notifyChanged() {
+        try {
+            jdbcTemplate.execute("NOTIFY " + CHANNEL);
+        } catch (Exception e) {
+            // Other nodes still pick the change up on their next poll
+            log.warn("Failed to send change notification: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public synchronized void subscribe(Runnable onChange) {
+        if (listenerThread != null) {
+            throw new IllegalStateException("A change listener is already subscribed");
+        }
+        running = true;
+        listenerThread = new Thread(() -> listen(onChange), "change-log-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+    
+    private void listen(Runnable onChange) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                
+                Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection");
+                Object pgConnection = connection.unwrap(pgConnectionClass);
+                Method getNotifications = pgConnectionClass.getMethod("getNotifications", int.class);
+                log.info("Listening for change notifications on channel {}", CHANNEL);
+                
+                while (running) {
+                    Object[] notifications = (Object[]) getNotifications.invoke(pgConnection, WAIT_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        onChange.run();
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change notification listener failed, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
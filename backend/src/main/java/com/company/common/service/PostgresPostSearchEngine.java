@@ -0,0 +1,155 @@
+package com.company.common.service;
+
+import com.company.common.entity.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link PostSearchEngine} backed by PostgreSQL full-text search
+ * ({@code app.search.engine=postgres}).
+ * <p>
+ * Title and content are matched against the generated {@code posts.search_vector} column
+ * (title weighted {@code A}, content {@code B}) and author names against an expression index
+ * on {@code users}, both GIN-indexed by {@code V3__post_search_index.sql}. The database keeps
+ * the vectors current, so {@link #index} and {@link #remove} have nothing to do.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres")
+public class PostgresPostSearchEngine implements PostSearchEngine {
+    
+    // Must match the expression of idx_users_name_search for the index to be used
+    private static final String AUTHOR_VECTOR =
+            "to_tsvector('simple', coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, ''))";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<Long> search(PostSearchQuery query, Pageable pageable) {
+        if (query.getTerms().isEmpty()) {
+            return Page.empty(pageable);
+        }
+        
+        StringBuilder where = new StringBuilder(" FROM posts p WHERE p.is_draft = false");
+        Map<String, Object> params = new HashMap<>();
+        String authorMatch = "p.author_id IN (SELECT u.id FROM users u WHERE " + AUTHOR_VECTOR
+                + " @@ to_tsquery('simple', :authorQuery))";
+        
+        switch (query.getField()) {
+            case TITLE:
+                where.append(" AND p.search_vector @@ to_tsquery('simple', :textQuery)");
+                params.put("textQuery", toTsQuery(query.getTerms(), "A"));
+                break;
+            case CONTENT:
+                where.append(" AND p.search_vector @@ to_tsquery('simple', :textQuery)");
+                params.put("textQuery", toTsQuery(query.getTerms(), "B"));
+                break;
+            case AUTHOR:
+                where.append(" AND ").append(authorMatch);
+                params.put("authorQuery", toTsQuery(query.getTerms(), ""));
+                break;
+            case ALL:
+            default:
+                where.append(" AND (p.search_vector @@ to_tsquery('simple', :textQuery) OR ").append(authorMatch).append(')');
+                params.put("textQuery", toTsQuery(query.getTerms(), ""));
+                params.put("authorQuery", toTsQuery(query.getTerms(), ""));
+                break;
+        }
+        
+        if (query.getBoardId() != null) {
+            where.append(" AND p.board_id = :boardId");
+            params.put("boardId", query.getBoardId());
+        }
+        if (query.getFrom() != null) {
+            where.append(" AND p.created_at >= :fromDate");
+            params.put("fromDate", query.getFrom());
+        }
+        if (query.getTo() != null) {
+            where.append(" AND p.created_at <= :toDate");
+            params.put("toDate", query.getTo());
+        }
+        if (query.getCategory() != null) {
+            where.append(" AND p.category = :category");
+            params.put("category", query.getCategory());
+        }
+        if (query.hasTags()) {
+            where.append(" AND EXISTS (SELECT 1 FROM post_tags t WHERE t.post_id = p.id AND t.tag IN (:tags))");
+            params.put("tags", query.getTags());
+        }
+        if (query.hasAllTags()) {
+            where.append(" AND (SELECT COUNT(DISTINCT t.tag) FROM post_tags t WHERE t.post_id = p.id AND t.tag IN (:allTags))")
+                    .append(" = :allTagCount");
+            params.put("allTags", query.getAllTags());
+            params.put("allTagCount", new HashSet<>(query.getAllTags()).size());
+        }
+        if (query.hasExcludedTags()) {
+            where.append(" AND NOT EXISTS (SELECT 1 FROM post_tags t WHERE t.post_id = p.id AND t.tag IN (:excludedTags))");
+            params.put("excludedTags", query.getExcludedTags());
+        }
+        
+        Sort.Order createdOrder = pageable.getSort().getOrderFor("createdAt");
+        String direction = createdOrder != null && createdOrder.isAscending() ? "ASC" : "DESC";
+        
+        Query idQuery = entityManager.createNativeQuery(
+                "SELECT p.id" + where + " ORDER BY p.created_at " + direction + ", p.id " + direction);
+        params.forEach(idQuery::setParameter);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult((int) pageable.getOffset());
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        
+        List<?> rows = idQuery.getResultList();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            ids.add(((Number) row).longValue());
+        }
+        
+        long total;
+        if (pageable.isPaged() && (pageable.getOffset() > 0 || ids.size() == pageable.getPageSize())) {
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*)" + where);
+            params.forEach(countQuery::setParameter);
+            total = ((Number) countQuery.getSingleResult()).longValue();
+        } else {
+            total = ids.size();
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+    
+    @Override
+    public void index(Post post) {
+        // search_vector is a generated column
+    }
+    
+    @Override
+    public void remove(Long postId) {
+        // Rows leave the index with the post
+    }
+    
+    /**
+     * ANDs the terms as prefix matches, optionally restricted to a weight. Terms only contain
+     * letters and digits, so they need no escaping.
+     */
+    private static String toTsQuery(List<String> terms, String weights) {
+        StringBuilder tsQuery = new StringBuilder();
+        for (String term : terms) {
+            if (tsQuery.length() > 0) {
+                tsQuery.append(" & ");
+            }
+            tsQuery.append(term).append(":*").append(weights);
+        }
+        return tsQuery.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.company.common.service;
+
+import com.company.common.entity.ChangeLog;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Published locally when changes committed by another node are replayed from the change log.
+ * Components holding in-memory state (snapshots, indexes) listen for it to refresh themselves.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RemoteChangeEvent {
+    
+    private final ChangeLog.ChangeScope scope;
+    
+    /**
+     * Changed keys within the scope, or {@code null} when the whole scope must be refreshed.
+     */
+    private final Set<String> keys;
+    
+    public boolean isFullRefresh() {
+        return keys == null;
+    }
+}
\ No newline at end of file
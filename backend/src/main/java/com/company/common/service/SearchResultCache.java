@@ -0,0 +1,218 @@
+package com.company.common.service;
+
+import com.company.common.dto.board.SearchQueryStatsDto;
+import com.company.common.entity.ChangeLog;
+import com.company.common.repository.PostRepository;
+import com.company.common.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived cache of {@link PostSearchEngine} result pages for the post search endpoint.
+ * <p>
+ * A few hundred queries make up most searches, so result pages (post ids only; callers load
+ * the posts) are kept per query and page for a short TTL, bounded by an entry count with
+ * least recently used eviction. A post change drops the cached results of its board and of
+ * searches across all boards after commit; per-board generations keep a search that raced with
+ * the change from being cached. Hits and misses are counted per query, ignoring the page.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache {
+    
+    private final PostSearchEngine postSearchEngine;
+    private final PostRepository postRepository;
+    
+    @Value("${app.board.search-cache.max-entries:2000}")
+    private int maxEntries;
+    
+    @Value("${app.board.search-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+    
+    @Value("${app.board.search-cache.max-tracked-queries:1000}")
+    private int maxTrackedQueries;
+    
+    // Guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, QueryStats> stats = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; guards searches across all boards
+    private final AtomicLong allBoardsGeneration = new AtomicLong();
+    
+    /**
+     * The engine's result page for the query, from the cache when a fresh copy exists.
+     */
+    public Page<Long> search(PostSearchQuery query, Pageable pageable) {
+        String queryKey = queryKey(query);
+        String key = queryKey + "#" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        Long boardId = query.getBoardId();
+        
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null && System.nanoTime() - cached.cachedAt > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+                entries.remove(key);
+                cached = null;
+            }
+            QueryStats counters = statsFor(queryKey);
+            if (cached != null) {
+                counters.hits++;
+            } else {
+                counters.misses++;
+            }
+        }
+        if (cached != null) {
+            return cached.ids;
+        }
+        
+        long generation = generation(boardId);
+        Page<Long> ids = postSearchEngine.search(query, pageable);
+        synchronized (this) {
+            if (generation(boardId) == generation) {
+                entries.put(key, new Entry(boardId, ids));
+                Iterator<Entry> eldest = entries.values().iterator();
+                while (entries.size() > maxEntries && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * Tracked queries with their hit ratios, most requested first.
+     */
+    public synchronized List<SearchQueryStatsDto> getStats(int limit) {
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingLong((SearchQueryStatsDto dto) -> dto.getHits() + dto.getMisses()).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Drops results that may include the board's posts once the current transaction commits.
+     */
+    public void invalidateBoard(Long boardId) {
+        TransactionUtils.afterCommit(() -> evict(boardId));
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() != ChangeLog.ChangeScope.POST) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            clear();
+            return;
+        }
+        for (String key : event.getKeys()) {
+            Optional<Long> boardId = postRepository.findBoardIdById(Long.parseLong(key));
+            if (boardId.isPresent()) {
+                evict(boardId.get());
+            } else {
+                // Deleted post: its board is unknown now
+                clear();
+                return;
+            }
+        }
+    }
+    
+    private synchronized void evict(Long boardId) {
+        generations.computeIfAbsent(boardId, id -> new AtomicLong()).incrementAndGet();
+        allBoardsGeneration.incrementAndGet();
+        entries.values().removeIf(entry -> entry.boardId == null || entry.boardId.equals(boardId));
+    }
+    
+    private synchronized void clear() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        allBoardsGeneration.incrementAndGet();
+        entries.clear();
+        log.debug("Search result cache cleared");
+    }
+    
+    private long generation(Long boardId) {
+        if (boardId == null) {
+            return allBoardsGeneration.get();
+        }
+        return generations.computeIfAbsent(boardId, id -> new AtomicLong()).get();
+    }
+    
+    private QueryStats statsFor(String queryKey) {
+        QueryStats counters = stats.get(queryKey);
+        if (counters == null) {
+            counters = new QueryStats();
+            stats.put(queryKey, counters);
+            Iterator<QueryStats> eldest = stats.values().iterator();
+            while (stats.size() > maxTrackedQueries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return counters;
+    }
+    
+    /**
+     * Canonical form of the criteria: terms sorted (their order does not change the result),
+     * then field, board, category, tag filters and date range.
+     */
+    private static String queryKey(PostSearchQuery query) {
+        List<String> terms = new ArrayList<>(query.getTerms());
+        Collections.sort(terms);
+        return String.join(" ", terms) + "|" + query.getField() + "|board=" + query.getBoardId() +
+                "|category=" + query.getCategory() + "|tags=" + sortedKey(query.getTags()) +
+                "|all=" + sortedKey(query.getAllTags()) + "|not=" + sortedKey(query.getExcludedTags()) +
+                "|from=" + query.getFrom() + "|to=" + query.getTo();
+    }
+    
+    private static String sortedKey(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return "";
+        }
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return String.join(",", sorted);
+    }
+    
+    private static final class Entry {
+        
+        private final Long boardId;
+        private final Page<Long> ids;
+        private final long cachedAt = System.nanoTime();
+        
+        Entry(Long boardId, Page<Long> ids) {
+            this.boardId = boardId;
+            this.ids = ids;
+        }
+    }
+    
+    // Guarded by the cache's lock
+    private static final class QueryStats {
+        
+        private long hits;
+        private long misses;
+        
+        SearchQueryStatsDto toDto(String query) {
+            long total = hits + misses;
+            return SearchQueryStatsDto.builder()
+                    .query(query)
+                    .hits(hits)
+                    .misses(misses)
+                    .hitRatio(total > 0 ? (double) hits / total : 0.0)
+                    .build();
+        }
+    }
+}
\ No newline at end of file
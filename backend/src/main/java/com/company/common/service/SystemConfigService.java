@@ -1,24 +1,40 @@
 package com.company.common.service;
 
+import com.company.common.dto.ConfigImportResultDto;
 import com.company.common.dto.SystemConfigDto;
+import com.company.common.entity.ChangeLog;
 import com.company.common.entity.SystemConfig;
 import com.company.common.repository.SystemConfigRepository;
+import com.company.common.util.TransactionUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,9 +45,25 @@ public class SystemConfigService {
     
     private final SystemConfigRepository systemConfigRepository;
     private final ObjectMapper objectMapper;
+    private final ChangeLogService changeLogService;
+    private final ConfigChangeListeners configChangeListeners;
+    private final JdbcTemplate jdbcTemplate;
     
     private static final String CONFIG_CACHE = "systemConfigs";
+    // Identity ids disable Hibernate's insert batching, so imported rows are inserted over JDBC
+    private static final String INSERT_CONFIG_SQL = "INSERT INTO system_configs (config_key, config_value, " +
+            "description, category, value_type, is_active, is_system, is_encrypted, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int EXPORT_PAGE_SIZE = 500;
     private final Map<String, String> defaultConfigs = new ConcurrentHashMap<>();
+    private final Object snapshotReloadKey = new Object();
+    
+    /**
+     * Pre-parsed view of all active configurations backing the typed getters. Replaced
+     * as a whole after every committed write, never mutated in place.
+     */
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
     
     @PostConstruct
     public void initializeDefaults() {
@@ -63,6 +95,7 @@ public class SystemConfigService {
         
         // Load defaults into database if not exists
         loadDefaultsToDatabase();
+        reloadSnapshot();
     }
     
     private void loadDefaultsToDatabase() {
@@ -113,61 +146,80 @@ public class SystemConfigService {
     }
     
     public String getString(String key, String defaultValue) {
-        try {
-            SystemConfigDto config = getConfigByKey(key);
-            return config.getIsActive() ? config.getConfigValue() : defaultValue;
-        } catch (RuntimeException e) {
-            return defaultValue;
-        }
+        ConfigSnapshot.Entry entry = snapshot.get(key);
+        return entry != null ? entry.getValue() : defaultValue;
     }
     
     public Integer getInteger(String key, Integer defaultValue) {
-        String value = getString(key, null);
-        if (value == null) return defaultValue;
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            log.error("Invalid integer value for key: {}", key);
-            return defaultValue;
-        }
+        ConfigSnapshot.Entry entry = snapshot.get(key);
+        return entry != null && entry.getIntValue() != null ? entry.getIntValue() : defaultValue;
     }
     
     public Long getLong(String key, Long defaultValue) {
-        String value = getString(key, null);
-        if (value == null) return defaultValue;
-        try {
-            return Long.parseLong(value);
-        } catch (NumberFormatException e) {
-            log.error("Invalid long value for key: {}", key);
-            return defaultValue;
-        }
+        ConfigSnapshot.Entry entry = snapshot.get(key);
+        return entry != null && entry.getLongValue() != null ? entry.getLongValue() : defaultValue;
     }
     
     public Double getDouble(String key, Double defaultValue) {
-        String value = getString(key, null);
-        if (value == null) return defaultValue;
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException e) {
-            log.error("Invalid double value for key: {}", key);
-            return defaultValue;
-        }
+        ConfigSnapshot.Entry entry = snapshot.get(key);
+        return entry != null && entry.getDoubleValue() != null ? entry.getDoubleValue() : defaultValue;
     }
     
     public Boolean getBoolean(String key, Boolean defaultValue) {
-        String value = getString(key, null);
-        if (value == null) return defaultValue;
-        return Boolean.parseBoolean(value);
+        ConfigSnapshot.Entry entry = snapshot.get(key);
+        return entry != null ? entry.getBooleanValue() : defaultValue;
     }
     
+    /**
+     * Returns the value converted to {@code clazz}. Conversions are cached per snapshot,
+     * so the returned object is shared and must not be modified.
+     */
     public <T> T getJson(String key, Class<T> clazz, T defaultValue) {
-        String value = getString(key, null);
-        if (value == null) return defaultValue;
-        try {
-            return objectMapper.readValue(value, clazz);
-        } catch (JsonProcessingException e) {
-            log.error("Invalid JSON value for key: {}", key, e);
-            return defaultValue;
+        ConfigSnapshot.Entry entry = snapshot.get(key);
+        if (entry == null) return defaultValue;
+        T value = entry.getJson(clazz, objectMapper);
+        return value != null ? value : defaultValue;
+    }
+    
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Subscribes to changes of a single key. The listener is called right away with the
+     * current entry and again, on the dispatcher thread, whenever the value changes
+     * locally or on another node. A {@code null} entry means the key is missing or inactive.
+     */
+    public ConfigChangeListeners.Subscription subscribe(String key, Consumer<ConfigSnapshot.Entry> listener) {
+        return configChangeListeners.subscribe(key, listener);
+    }
+    
+    /**
+     * Subscribes to changes of any key starting with {@code prefix}; the listener receives
+     * the whole snapshot.
+     */
+    public ConfigChangeListeners.Subscription subscribePrefix(String prefix, Consumer<ConfigSnapshot> listener) {
+        return configChangeListeners.subscribePrefix(prefix, listener);
+    }
+    
+    /**
+     * Rebuilds the snapshot from the database. Synchronized so that a reload started
+     * later always publishes last and a slow, older reload cannot overwrite it.
+     */
+    public synchronized void reloadSnapshot() {
+        snapshot = ConfigSnapshot.of(systemConfigRepository.findByIsActiveTrue(), objectMapper);
+        configChangeListeners.publish(snapshot);
+        log.debug("Reloaded configuration snapshot with {} entries", snapshot.size());
+    }
+    
+    private void scheduleSnapshotReload() {
+        TransactionUtils.afterCommitOnce(snapshotReloadKey, this::reloadSnapshot);
+    }
+    
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getScope() == ChangeLog.ChangeScope.CONFIG) {
+            reloadSnapshot();
         }
     }
     
@@ -205,6 +257,8 @@ public class SystemConfigService {
         
         SystemConfig config = toEntity(configDto);
         config = systemConfigRepository.save(config);
+        changeLogService.record(ChangeLog.ChangeScope.CONFIG, config.getConfigKey());
+        scheduleSnapshotReload();
         log.info("Created configuration: {}", config.getConfigKey());
         return toDto(config);
     }
@@ -223,6 +277,8 @@ public class SystemConfigService {
         config.setIsEncrypted(configDto.getIsEncrypted());
         
         config = systemConfigRepository.save(config);
+        changeLogService.record(ChangeLog.ChangeScope.CONFIG, key);
+        scheduleSnapshotReload();
         log.info("Updated configuration: {}", key);
         return toDto(config);
     }
@@ -235,6 +291,8 @@ public class SystemConfigService {
         
         config.setConfigValue(value);
         config = systemConfigRepository.save(config);
+        changeLogService.record(ChangeLog.ChangeScope.CONFIG, key);
+        scheduleSnapshotReload();
         log.info("Updated configuration value for: {}", key);
         return toDto(config);
     }
@@ -250,6 +308,8 @@ public class SystemConfigService {
         }
         
         systemConfigRepository.delete(config);
+        changeLogService.record(ChangeLog.ChangeScope.CONFIG, key);
+        scheduleSnapshotReload();
         log.info("Deleted configuration: {}", key);
     }
     
@@ -267,12 +327,14 @@ public class SystemConfigService {
                 config.setIsActive(configDto.getIsActive());
                 
                 config = systemConfigRepository.save(config);
+                changeLogService.record(ChangeLog.ChangeScope.CONFIG, config.getConfigKey());
                 updated.add(toDto(config));
             } catch (Exception e) {
                 log.error("Failed to update configuration: {}", configDto.getConfigKey(), e);
             }
         }
         
+        scheduleSnapshotReload();
         log.info("Batch updated {} configurations", updated.size());
         return updated;
     }
@@ -280,6 +342,7 @@ public class SystemConfigService {
     @CacheEvict(value = CONFIG_CACHE, allEntries = true)
     public void refreshCache() {
         log.info("Refreshing system configuration cache");
+        reloadSnapshot();
     }
     
     public Map<String, Object> exportConfigurations(String category) {
@@ -300,46 +363,214 @@ public class SystemConfigService {
         return export;
     }
     
+    /**
+     * Streams configurations as newline-delimited JSON, one {@link SystemConfigDto} per line.
+     * Rows are read in id-ordered pages outside of a transaction, so neither the result nor
+     * the persistence context ever holds the full set. A row that cannot be serialized is
+     * written as {@code {"configKey": ..., "error": ...}} instead.
+     *
+     * @return number of configurations exported
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int exportConfigurationsNdjson(String category, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(SystemConfigDto.class);
+        int exported = 0;
+        int failed = 0;
+        long afterId = 0L;
+        List<SystemConfig> page;
+        
+        do {
+            PageRequest pageRequest = PageRequest.of(0, EXPORT_PAGE_SIZE);
+            page = category != null
+                    ? systemConfigRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(category, afterId, pageRequest)
+                    : systemConfigRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageRequest);
+            
+            for (SystemConfig config : page) {
+                try {
+                    out.write(writer.writeValueAsBytes(toDto(config)));
+                    exported++;
+                } catch (JsonProcessingException e) {
+                    Map<String, String> error = new LinkedHashMap<>();
+                    error.put("configKey", config.getConfigKey());
+                    error.put("error", e.getOriginalMessage());
+                    out.write(objectMapper.writeValueAsBytes(error));
+                    failed++;
+                }
+                out.write('\n');
+                afterId = config.getId();
+            }
+            out.flush();
+        } while (page.size() == EXPORT_PAGE_SIZE);
+        
+        log.info("NDJSON export completed - Exported: {}, Failed: {}", exported, failed);
+        return exported;
+    }
+    
     @Transactional
     @CacheEvict(value = CONFIG_CACHE, allEntries = true)
-    public Map<String, Object> importConfigurations(Map<String, Object> configurations, Boolean overwrite) {
+    @SuppressWarnings("unchecked")
+    public ConfigImportResultDto importConfigurations(Map<String, Object> configurations, Boolean overwrite) {
         List<Map<String, Object>> configList = (List<Map<String, Object>>) configurations.get("configurations");
+        ConfigImportResultDto result = ConfigImportResultDto.builder().build();
         
-        int imported = 0;
-        int skipped = 0;
-        int failed = 0;
-        
+        List<SystemConfigDto> configs = new ArrayList<>(configList.size());
         for (Map<String, Object> configMap : configList) {
             try {
-                String key = (String) configMap.get("configKey");
-                
-                if (!overwrite && systemConfigRepository.existsByConfigKey(key)) {
-                    skipped++;
-                    continue;
-                }
-                
-                SystemConfigDto dto = objectMapper.convertValue(configMap, SystemConfigDto.class);
-                if (overwrite && systemConfigRepository.existsByConfigKey(key)) {
-                    updateConfig(key, dto);
-                } else {
-                    createConfig(dto);
-                }
-                imported++;
-            } catch (Exception e) {
-                log.error("Failed to import configuration", e);
-                failed++;
+                configs.add(objectMapper.convertValue(configMap, SystemConfigDto.class));
+            } catch (IllegalArgumentException e) {
+                result.add(String.valueOf(configMap.get("configKey")), ConfigImportResultDto.Status.FAILED,
+                        "Invalid configuration: " + e.getMessage());
             }
         }
         
-        Map<String, Object> result = new HashMap<>();
-        result.put("imported", imported);
-        result.put("skipped", skipped);
-        result.put("failed", failed);
+        return applyImport(configs, Boolean.TRUE.equals(overwrite), result);
+    }
+    
+    /**
+     * Imports configurations from newline-delimited JSON as produced by
+     * {@link #exportConfigurationsNdjson}. Unparseable lines are reported as failed.
+     */
+    @Transactional
+    @CacheEvict(value = CONFIG_CACHE, allEntries = true)
+    public ConfigImportResultDto importConfigurationsNdjson(InputStream in, boolean overwrite) throws IOException {
+        ConfigImportResultDto result = ConfigImportResultDto.builder().build();
+        ObjectReader reader = objectMapper.readerFor(SystemConfigDto.class);
+        List<SystemConfigDto> configs = new ArrayList<>();
+        
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                configs.add(reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                result.add("line " + lineNumber, ConfigImportResultDto.Status.FAILED,
+                        "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
         
-        log.info("Import completed - Imported: {}, Skipped: {}, Failed: {}", imported, skipped, failed);
+        return applyImport(configs, overwrite, result);
+    }
+    
+    /**
+     * Applies an import as a diff against the database: existing keys are loaded in chunked
+     * IN queries, each entry is classified as inserted, updated, unchanged, skipped or
+     * failed. Updates are flushed through the managed entities; inserts go out as JDBC batches
+     * of {@value #IMPORT_BATCH_SIZE} rows.
+     */
+    private ConfigImportResultDto applyImport(List<SystemConfigDto> configs, boolean overwrite, ConfigImportResultDto result) {
+        Map<String, SystemConfigDto> incoming = new LinkedHashMap<>();
+        for (SystemConfigDto dto : configs) {
+            String error = validateImport(dto);
+            if (error != null) {
+                result.add(dto.getConfigKey(), ConfigImportResultDto.Status.FAILED, error);
+            } else if (incoming.putIfAbsent(dto.getConfigKey(), dto) != null) {
+                result.add(dto.getConfigKey(), ConfigImportResultDto.Status.FAILED, "Duplicate key in import");
+            }
+        }
+        
+        Map<String, SystemConfig> existing = new HashMap<>();
+        List<String> keys = new ArrayList<>(incoming.keySet());
+        for (int from = 0; from < keys.size(); from += IMPORT_BATCH_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + IMPORT_BATCH_SIZE, keys.size()));
+            systemConfigRepository.findByConfigKeyIn(chunk)
+                    .forEach(config -> existing.put(config.getConfigKey(), config));
+        }
+        
+        List<SystemConfigDto> inserts = new ArrayList<>();
+        List<String> changedKeys = new ArrayList<>();
+        incoming.forEach((key, dto) -> {
+            SystemConfig config = existing.get(key);
+            if (config == null) {
+                inserts.add(dto);
+                changedKeys.add(key);
+                result.add(key, ConfigImportResultDto.Status.INSERTED, null);
+            } else if (!overwrite) {
+                result.add(key, ConfigImportResultDto.Status.SKIPPED, "Configuration already exists");
+            } else if (hasSameContent(config, dto)) {
+                result.add(key, ConfigImportResultDto.Status.UNCHANGED, null);
+            } else {
+                // Managed entity; the update is written by the flush below
+                applyImportedValues(config, dto);
+                changedKeys.add(key);
+                result.add(key, ConfigImportResultDto.Status.UPDATED, null);
+            }
+        });
+        
+        if (!changedKeys.isEmpty()) {
+            systemConfigRepository.flush();
+            insertAll(inserts);
+            changeLogService.recordAll(ChangeLog.ChangeScope.CONFIG, changedKeys);
+            scheduleSnapshotReload();
+        }
+        
+        log.info("Import completed - Inserted: {}, Updated: {}, Unchanged: {}, Skipped: {}, Failed: {}",
+                result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getSkipped(), result.getFailed());
         return result;
     }
     
+    private void insertAll(List<SystemConfigDto> inserts) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < inserts.size(); from += IMPORT_BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(Math.min(IMPORT_BATCH_SIZE, inserts.size() - from));
+            for (SystemConfigDto dto : inserts.subList(from, Math.min(from + IMPORT_BATCH_SIZE, inserts.size()))) {
+                batch.add(new Object[] {
+                        dto.getConfigKey(),
+                        dto.getConfigValue(),
+                        dto.getDescription(),
+                        dto.getCategory(),
+                        dto.getValueType().name(),
+                        !Boolean.FALSE.equals(dto.getIsActive()),
+                        Boolean.TRUE.equals(dto.getIsSystem()),
+                        Boolean.TRUE.equals(dto.getIsEncrypted()),
+                        now,
+                        now
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_CONFIG_SQL, batch);
+        }
+    }
+    
+    private String validateImport(SystemConfigDto dto) {
+        if (dto.getConfigKey() == null || dto.getConfigKey().isBlank()) {
+            return "Configuration key is required";
+        }
+        if (dto.getConfigValue() == null) {
+            return "Configuration value is required";
+        }
+        if (dto.getValueType() == null) {
+            dto.setValueType(determineValueType(dto.getConfigValue()));
+        }
+        if (!Boolean.TRUE.equals(dto.getIsEncrypted()) && !validateValueType(dto.getConfigValue(), dto.getValueType())) {
+            return "Value does not match type " + dto.getValueType();
+        }
+        return null;
+    }
+    
+    private boolean hasSameContent(SystemConfig config, SystemConfigDto dto) {
+        return Objects.equals(config.getConfigValue(), dto.getConfigValue())
+                && Objects.equals(config.getDescription(), dto.getDescription())
+                && Objects.equals(config.getCategory(), dto.getCategory())
+                && config.getValueType() == dto.getValueType()
+                && (dto.getIsActive() == null || dto.getIsActive().equals(config.getIsActive()))
+                && Boolean.TRUE.equals(config.getIsEncrypted()) == Boolean.TRUE.equals(dto.getIsEncrypted());
+    }
+    
+    private void applyImportedValues(SystemConfig config, SystemConfigDto dto) {
+        config.setConfigValue(dto.getConfigValue());
+        config.setDescription(dto.getDescription());
+        config.setCategory(dto.getCategory());
+        config.setValueType(dto.getValueType());
+        if (dto.getIsActive() != null) {
+            config.setIsActive(dto.getIsActive());
+        }
+        config.setIsEncrypted(Boolean.TRUE.equals(dto.getIsEncrypted()));
+    }
+    
     public boolean validateConfigValue(String key, String value) {
         try {
             SystemConfig config = systemConfigRepository.findByConfigKey(key)
@@ -0,0 +1,126 @@
+package com.company.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Detects common file formats from their leading bytes, so stored content types do not rely on
+ * what the client declared.
+ */
+public final class ContentTypeSniffer {
+    
+    /**
+     * Leading bytes needed for {@link #sniff}.
+     */
+    public static final int HEADER_SIZE = 16;
+    
+    private static final String OCTET_STREAM = "application/octet-stream";
+    
+    private ContentTypeSniffer() {
+    }
+    
+    /**
+     * The detected content type, or {@code null} if the bytes match no known signature.
+     */
+    public static String sniff(byte[] header, int length) {
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && matches(header, length, 8, "WEBP")) {
+            return "image/webp";
+        }
+        if (startsWith(header, length, 'B', 'M') && length >= 10 && zero(header, 6, 4)) {
+            return "image/bmp";
+        }
+        if (startsWith(header, length, '%', 'P', 'D', 'F', '-')) {
+            return "application/pdf";
+        }
+        if (startsWith(header, length, 'P', 'K', 0x03, 0x04)) {
+            return "application/zip";
+        }
+        if (startsWith(header, length, 0x1F, 0x8B)) {
+            return "application/gzip";
+        }
+        if (startsWith(header, length, '7', 'z', 0xBC, 0xAF, 0x27, 0x1C)) {
+            return "application/x-7z-compressed";
+        }
+        if (startsWith(header, length, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) {
+            return "application/x-ole-storage";
+        }
+        if (matches(header, length, 4, "ftyp")) {
+            return "video/mp4";
+        }
+        if (startsWith(header, length, 'I', 'D', '3')) {
+            return "audio/mpeg";
+        }
+        return null;
+    }
+    
+    /**
+     * Content type to store for an upload: the declared type when it is a more specific form of
+     * the detected container (for example an Office document for a ZIP signature) or when
+     * nothing was detected, otherwise the detected type.
+     */
+    public static String resolve(String declared, byte[] header, int length) {
+        String detected = sniff(header, length);
+        String declaredType = declared != null ? declared.split(";")[0].trim().toLowerCase(Locale.ROOT) : null;
+        if (detected == null) {
+            return declaredType != null && !declaredType.isEmpty() ? declaredType : OCTET_STREAM;
+        }
+        if (declaredType == null || declaredType.equals(detected)) {
+            return detected;
+        }
+        boolean container = detected.equals("application/zip") || detected.equals("application/x-ole-storage");
+        if (container && (declaredType.startsWith("application/vnd.") || declaredType.equals("application/msword")
+                || declaredType.equals("application/java-archive") || declaredType.equals("application/epub+zip"))) {
+            return declaredType;
+        }
+        if (detected.equals("video/mp4") && (declaredType.startsWith("video/") || declaredType.startsWith("audio/")
+                || declaredType.startsWith("image/hei") || declaredType.startsWith("image/avif"))) {
+            // ISO base media files (mp4, mov, m4a, heic, avif) share the "ftyp" signature
+            return declaredType;
+        }
+        return detected;
+    }
+    
+    private static boolean startsWith(byte[] header, int length, int... signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xff) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // BMP headers keep four reserved zero bytes after the file size
+    private static boolean zero(byte[] header, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            if (header[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean matches(byte[] header, int length, int offset, String ascii) {
+        byte[] expected = ascii.getBytes(StandardCharsets.US_ASCII);
+        if (length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (header[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
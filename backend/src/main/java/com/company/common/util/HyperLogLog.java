@@ -0,0 +1,148 @@
+package com.company.common.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog cardinality sketch with 2^12 registers (about 1.6% standard error).
+ * <p>
+ * Sketches merge by taking the register-wise maximum, so partial sketches collected on
+ * several nodes can be folded into a persisted one. {@link #toBytes()} picks a sparse
+ * encoding while few registers are set and a packed 6-bit encoding (3 KB) otherwise.
+ * Not thread-safe.
+ */
+public final class HyperLogLog {
+    
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+    private static final int DENSE_SIZE = 1 + REGISTERS * 6 / 8;
+    
+    private final byte[] registers = new byte[REGISTERS];
+    
+    public static long hash(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+    
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with {@link #hash(long)}.
+     */
+    public static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return hash(h);
+    }
+    
+    /**
+     * Adds an already hashed value. Returns whether a register changed.
+     */
+    public boolean offer(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros of the remaining bits, plus one; the sentinel bit caps the rank
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Folds {@code other} into this sketch. Returns whether a register changed.
+     */
+    public boolean merge(HyperLogLog other) {
+        boolean changed = false;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+    
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+    
+    public byte[] toBytes() {
+        int nonZero = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                nonZero++;
+            }
+        }
+        
+        if (1 + nonZero * 3 < DENSE_SIZE) {
+            byte[] bytes = new byte[1 + nonZero * 3];
+            bytes[0] = SPARSE;
+            int offset = 1;
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] != 0) {
+                    bytes[offset++] = (byte) (i >>> 8);
+                    bytes[offset++] = (byte) i;
+                    bytes[offset++] = registers[i];
+                }
+            }
+            return bytes;
+        }
+        
+        // Four 6-bit registers per three bytes
+        byte[] bytes = new byte[DENSE_SIZE];
+        bytes[0] = DENSE;
+        for (int i = 0, offset = 1; i < REGISTERS; i += 4, offset += 3) {
+            int packed = registers[i] << 18 | registers[i + 1] << 12 | registers[i + 2] << 6 | registers[i + 3];
+            bytes[offset] = (byte) (packed >>> 16);
+            bytes[offset + 1] = (byte) (packed >>> 8);
+            bytes[offset + 2] = (byte) packed;
+        }
+        return bytes;
+    }
+    
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        if (bytes[0] == SPARSE) {
+            for (int offset = 1; offset + 2 < bytes.length; offset += 3) {
+                int index = (bytes[offset] & 0xff) << 8 | bytes[offset + 1] & 0xff;
+                sketch.registers[index & (REGISTERS - 1)] = bytes[offset + 2];
+            }
+        } else if (bytes[0] == DENSE && bytes.length == DENSE_SIZE) {
+            for (int i = 0, offset = 1; i < REGISTERS; i += 4, offset += 3) {
+                int packed = (bytes[offset] & 0xff) << 16 | (bytes[offset + 1] & 0xff) << 8 | bytes[offset + 2] & 0xff;
+                sketch.registers[i] = (byte) (packed >>> 18 & 0x3f);
+                sketch.registers[i + 1] = (byte) (packed >>> 12 & 0x3f);
+                sketch.registers[i + 2] = (byte) (packed >>> 6 & 0x3f);
+                sketch.registers[i + 3] = (byte) (packed & 0x3f);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown sketch encoding: " + bytes[0]);
+        }
+        return sketch;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.company.common.util;
+
+import com.company.common.dto.CursorPage;
+import com.company.common.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Position in a list ordered by {@code (created_at, id)}, encoded as an opaque URL-safe token.
+ * <p>
+ * Queries seek past the position with {@code created_at < :createdAt OR (created_at = :createdAt
+ * AND id < :id)} (or the mirror image for ascending lists) over a matching composite index, so
+ * every slice costs the same no matter how deep it is. One extra row is fetched to tell whether
+ * another slice follows.
+ */
+public final class KeysetCursor {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    private KeysetCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public static KeysetCursor of(LocalDateTime createdAt, Long id) {
+        return new KeysetCursor(createdAt, id);
+    }
+    
+    /**
+     * Returns {@code null} for a missing cursor, meaning the first slice.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('_');
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        String value = createdAt + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public static int clampSize(Integer size) {
+        return size == null || size < 1 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+    
+    /**
+     * Limit for a slice of {@code size} rows plus the look-ahead row.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+    
+    /**
+     * Builds the slice from rows fetched with {@link #limit(int)}.
+     */
+    public static <T, R> CursorPage<R> page(List<T> rows, int size, Function<T, LocalDateTime> createdAt,
+                                            Function<T, Long> id, Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = of(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return CursorPage.<R>builder()
+                .content(content.stream().map(mapper).collect(Collectors.toList()))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
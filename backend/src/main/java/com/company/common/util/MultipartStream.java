@@ -0,0 +1,313 @@
+package com.company.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming reader of a {@code multipart/form-data} request body.
+ * <p>
+ * Parts are read in order straight from the request stream through one fixed buffer: each
+ * {@link Part} exposes its body as an {@link InputStream} that ends at the next boundary, so a
+ * file part can be copied wherever it goes without being spooled to memory or a temporary file
+ * first. A part's body must be read (or skipped) before moving to the next one. Not thread-safe.
+ */
+public final class MultipartStream {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+    
+    private final InputStream in;
+    // "\r\n--" + boundary
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private boolean eof;
+    private PartInputStream current;
+    private boolean finished;
+    
+    public MultipartStream(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+        // The first boundary has no line break before it; start as if one had been read
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+    }
+    
+    /**
+     * The boundary parameter of a {@code multipart/form-data} content type, or {@code null}
+     * when the content type is not multipart or names no boundary.
+     */
+    public static String boundaryOf(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        for (String parameter : splitParameters(contentType)) {
+            String trimmed = parameter.trim();
+            if (trimmed.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String boundary = unquote(trimmed.substring(9));
+                return boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * The next part, or {@code null} after the last one. Skips what is left of the previous part.
+     *
+     * @throws IOException if the stream ends early or the body is not well-formed
+     */
+    public Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (current == null) {
+            // Preamble before the first boundary
+            current = new PartInputStream();
+        }
+        current.skipRemaining();
+        
+        // After a delimiter: "--" ends the body, otherwise the line break before the headers
+        fill(2);
+        if (tail - head < 2) {
+            throw new IOException("Multipart body ended unexpectedly");
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            current = null;
+            return null;
+        }
+        readLine();
+        
+        String disposition = null;
+        String contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            headerBytes += line.length() + 2;
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart part headers too large");
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("Content-Disposition")) {
+                disposition = value;
+            } else if (name.equalsIgnoreCase("Content-Type")) {
+                contentType = value;
+            }
+        }
+        current = new PartInputStream();
+        return new Part(parameter(disposition, "name"), parameter(disposition, "filename"), contentType, current);
+    }
+    
+    /**
+     * Reads the body of a text field, up to {@code maxChars} characters of UTF-8.
+     */
+    public static String readText(Part part, int maxChars) throws IOException {
+        byte[] bytes = part.getBody().readNBytes(maxChars * 4 + 1);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        if (text.length() > maxChars || part.getBody().read() >= 0) {
+            throw new IOException("Form field " + part.getName() + " is too long");
+        }
+        return text;
+    }
+    
+    // Decoded as UTF-8: browsers send non-ASCII file names raw in that encoding
+    private String readLine() throws IOException {
+        int scanned = 0;
+        while (true) {
+            for (int i = head + scanned; i + 1 < tail; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, head, i - head, StandardCharsets.UTF_8);
+                    head = i + 2;
+                    return line;
+                }
+            }
+            int buffered = tail - head;
+            if (buffered >= MAX_HEADER_BYTES) {
+                throw new IOException("Multipart header line too long");
+            }
+            scanned = Math.max(0, buffered - 1);
+            fill(buffered + 1);
+            if (tail - head <= buffered) {
+                throw new IOException("Multipart body ended unexpectedly");
+            }
+        }
+    }
+    
+    /**
+     * Reads until at least {@code wanted} bytes are buffered or the stream ends.
+     */
+    private void fill(int wanted) throws IOException {
+        if (tail - head >= wanted || eof) {
+            return;
+        }
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        while (tail < wanted && !eof) {
+            int read = in.read(buffer, tail, buffer.length - tail);
+            if (read < 0) {
+                eof = true;
+            } else {
+                tail += read;
+            }
+        }
+    }
+    
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        outer:
+        for (int i = head; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+    
+    private static String parameter(String header, String name) {
+        if (header == null) {
+            return null;
+        }
+        for (String parameter : splitParameters(header)) {
+            String trimmed = parameter.trim();
+            int equals = trimmed.indexOf('=');
+            if (equals > 0 && trimmed.substring(0, equals).trim().equalsIgnoreCase(name)) {
+                return unquote(trimmed.substring(equals + 1).trim());
+            }
+        }
+        return null;
+    }
+    
+    // Splits at semicolons outside quoted strings, so quoted file names may contain them
+    private static List<String> splitParameters(String header) {
+        List<String> parameters = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c == '\\' && quoted) {
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                parameters.add(header.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parameters.add(header.substring(start));
+        return parameters;
+    }
+    
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\\\"", "\"");
+        }
+        return value;
+    }
+    
+    /**
+     * Body of the current part, ending at the next boundary.
+     */
+    private final class PartInputStream extends InputStream {
+        
+        private boolean done;
+        
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done || current != this) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                fill(delimiter.length);
+                int found = indexOfDelimiter();
+                // Without a match, the last delimiter.length - 1 bytes may start one
+                int available = found >= 0 ? found - head : tail - head - (delimiter.length - 1);
+                if (found == head) {
+                    head += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                if (available > 0) {
+                    int count = Math.min(available, len);
+                    System.arraycopy(buffer, head, b, off, count);
+                    head += count;
+                    return count;
+                }
+                if (eof) {
+                    throw new IOException("Multipart body ended unexpectedly");
+                }
+            }
+        }
+        
+        void skipRemaining() throws IOException {
+            byte[] scratch = new byte[4096];
+            while (read(scratch, 0, scratch.length) >= 0) {
+                // discard
+            }
+        }
+    }
+    
+    /**
+     * A part's name, file name (for file fields) and declared content type, with its body.
+     */
+    public static final class Part {
+        
+        private final String name;
+        private final String fileName;
+        private final String contentType;
+        private final InputStream body;
+        
+        Part(String name, String fileName, String contentType, InputStream body) {
+            this.name = name;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.body = body;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getFileName() {
+            return fileName;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public boolean isFile() {
+            return fileName != null;
+        }
+        
+        public InputStream getBody() {
+            return body;
+        }
+    }
+}
\ No newline at end of file
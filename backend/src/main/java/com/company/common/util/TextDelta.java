@@ -0,0 +1,260 @@
+package com.company.common.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Word-level text deltas: {@link #diff} encodes how to turn a source text into a target text,
+ * {@link #apply} rebuilds the target from the source and the delta.
+ * <p>
+ * Texts are split into words (runs ending at whitespace or {@code >}, so markup tags split too)
+ * and compared with Myers' O((N+M)D) algorithm after trimming the common prefix and suffix. The
+ * encoding counts characters rather than words, so applying a delta does not depend on the
+ * tokenizer: {@code =n;} copies n characters of the source, {@code -n;} skips n characters and
+ * {@code +n:text} inserts the n characters that follow.
+ */
+public final class TextDelta {
+    
+    private TextDelta() {
+    }
+    
+    /**
+     * Delta from {@code source} to {@code target}, or {@code null} when they differ in more than
+     * {@code maxEdits} inserted or removed words (a full copy is the better encoding then).
+     */
+    public static String diff(String source, String target, int maxEdits) {
+        List<String> sourceWords = split(source);
+        List<String> targetWords = split(target);
+        Map<String, Integer> ids = new HashMap<>();
+        int[] a = toIds(sourceWords, ids);
+        int[] b = toIds(targetWords, ids);
+        
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix] == b[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+            suffix++;
+        }
+        
+        Encoder encoder = new Encoder(sourceWords, targetWords);
+        encoder.copy(0, prefix);
+        if (!middle(a, b, prefix, a.length - suffix, prefix, b.length - suffix, maxEdits, encoder)) {
+            return null;
+        }
+        encoder.copy(a.length - suffix, a.length);
+        return encoder.finish();
+    }
+    
+    /**
+     * Rebuilds the target text from the source the delta was computed against.
+     *
+     * @throws IllegalArgumentException if the delta is malformed or does not fit the source
+     */
+    public static String apply(String source, String delta) {
+        StringBuilder target = new StringBuilder(source.length() + 64);
+        int position = 0;
+        int i = 0;
+        while (i < delta.length()) {
+            char op = delta.charAt(i);
+            int end = op == '+' ? delta.indexOf(':', i) : delta.indexOf(';', i);
+            if (end < 0) {
+                throw new IllegalArgumentException("Malformed delta at " + i);
+            }
+            int length;
+            try {
+                length = Integer.parseInt(delta, i + 1, end, 10);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed delta at " + i, e);
+            }
+            if (length < 0) {
+                throw new IllegalArgumentException("Malformed delta at " + i);
+            }
+            switch (op) {
+                case '=':
+                case '-':
+                    if (position + length > source.length()) {
+                        throw new IllegalArgumentException("Delta does not fit the source text");
+                    }
+                    if (op == '=') {
+                        target.append(source, position, position + length);
+                    }
+                    position += length;
+                    i = end + 1;
+                    break;
+                case '+':
+                    if (end + 1 + length > delta.length()) {
+                        throw new IllegalArgumentException("Malformed delta at " + i);
+                    }
+                    target.append(delta, end + 1, end + 1 + length);
+                    i = end + 1 + length;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Malformed delta at " + i);
+            }
+        }
+        if (position != source.length()) {
+            throw new IllegalArgumentException("Delta does not fit the source text");
+        }
+        return target.toString();
+    }
+    
+    static List<String> split(String text) {
+        List<String> words = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '>') {
+                words.add(text.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            words.add(text.substring(start));
+        }
+        return words;
+    }
+    
+    private static int[] toIds(List<String> words, Map<String, Integer> ids) {
+        int[] result = new int[words.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.computeIfAbsent(words.get(i), word -> ids.size());
+        }
+        return result;
+    }
+    
+    /**
+     * Myers' shortest edit script between a[aFrom, aTo) and b[bFrom, bTo), fed to the encoder
+     * in order. Returns false once more than maxEdits edits would be needed.
+     */
+    private static boolean middle(int[] a, int[] b, int aFrom, int aTo, int bFrom, int bTo,
+                                  int maxEdits, Encoder encoder) {
+        int n = aTo - aFrom;
+        int m = bTo - bFrom;
+        int limit = Math.min(n + m, maxEdits);
+        int offset = limit + 1;
+        int[] v = new int[2 * limit + 3];
+        // trace.get(d) holds v[-d..d] as it was before round d
+        List<int[]> trace = new ArrayList<>();
+        int edits = -1;
+        for (int d = 0; d <= limit && edits < 0; d++) {
+            int[] snapshot = new int[2 * d + 1];
+            System.arraycopy(v, offset - d, snapshot, 0, snapshot.length);
+            trace.add(snapshot);
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[aFrom + x] == b[bFrom + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    edits = d;
+                    break;
+                }
+            }
+        }
+        if (edits < 0) {
+            return false;
+        }
+        
+        // Walk back from (n, m), collecting operations in reverse
+        List<int[]> operations = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = edits; d > 0; d--) {
+            int[] previous = trace.get(d);
+            int k = x - y;
+            int previousK = k == -d || (k != d && previous[k - 1 + d] < previous[k + 1 + d]) ? k + 1 : k - 1;
+            int previousX = previous[previousK + d];
+            int previousY = previousX - previousK;
+            while (x > previousX && y > previousY) {
+                operations.add(new int[]{'=', aFrom + --x, bFrom + --y});
+            }
+            if (previousK == k + 1) {
+                operations.add(new int[]{'+', aFrom + x, bFrom + --y});
+            } else {
+                operations.add(new int[]{'-', aFrom + --x, bFrom + y});
+            }
+        }
+        while (x > 0 && y > 0) {
+            operations.add(new int[]{'=', aFrom + --x, bFrom + --y});
+        }
+        for (int i = operations.size() - 1; i >= 0; i--) {
+            int[] operation = operations.get(i);
+            switch (operation[0]) {
+                case '=' -> encoder.copy(operation[1], operation[1] + 1);
+                case '-' -> encoder.skip(operation[1]);
+                default -> encoder.insert(operation[2]);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Merges word operations into runs of characters.
+     */
+    private static final class Encoder {
+        
+        private final List<String> source;
+        private final List<String> target;
+        private final StringBuilder delta = new StringBuilder();
+        private final StringBuilder inserted = new StringBuilder();
+        private char pending;
+        private int pendingLength;
+        
+        Encoder(List<String> source, List<String> target) {
+            this.source = source;
+            this.target = target;
+        }
+        
+        void copy(int from, int to) {
+            for (int i = from; i < to; i++) {
+                run('=', source.get(i).length());
+            }
+        }
+        
+        void skip(int sourceIndex) {
+            run('-', source.get(sourceIndex).length());
+        }
+        
+        void insert(int targetIndex) {
+            if (pending != '+') {
+                flush();
+                pending = '+';
+            }
+            inserted.append(target.get(targetIndex));
+        }
+        
+        String finish() {
+            flush();
+            return delta.toString();
+        }
+        
+        private void run(char op, int length) {
+            if (pending != op) {
+                flush();
+                pending = op;
+            }
+            pendingLength += length;
+        }
+        
+        private void flush() {
+            if (pending == '+') {
+                delta.append('+').append(inserted.length()).append(':').append(inserted);
+                inserted.setLength(0);
+            } else if (pending != 0 && pendingLength > 0) {
+                delta.append(pending).append(pendingLength).append(';');
+            }
+            pending = 0;
+            pendingLength = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+-- Post edit history (PostRevisionService): the latest revision's content is the post's own,
+-- older revisions hold a reverse delta from the next one or, at checkpoints, the full content
+CREATE TABLE post_revisions (
+    id BIGSERIAL PRIMARY KEY,
+    post_id BIGINT NOT NULL REFERENCES posts (id) ON DELETE CASCADE,
+    revision_number INTEGER NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    editor_id BIGINT,
+    content_length INTEGER NOT NULL,
+    storage VARCHAR(10) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL,
+    UNIQUE (post_id, revision_number)
+);
@@ -0,0 +1,9 @@
+CREATE TABLE change_log (
+    id BIGSERIAL PRIMARY KEY,
+    scope VARCHAR(30) NOT NULL,
+    entity_key VARCHAR(255),
+    origin_node VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_change_log_created_at ON change_log (created_at);
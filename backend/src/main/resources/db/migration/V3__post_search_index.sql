@@ -0,0 +1,11 @@
+-- Full-text search for posts, used when app.search.engine=postgres
+ALTER TABLE posts ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(content, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_posts_search_vector ON posts USING GIN (search_vector);
+
+CREATE INDEX idx_users_name_search ON users USING GIN (
+    to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, ''))
+);
@@ -0,0 +1,9 @@
+-- Distinct viewer estimates per post (HyperLogLog sketches)
+ALTER TABLE posts ADD COLUMN unique_view_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE post_view_sketches (
+    post_id BIGINT PRIMARY KEY REFERENCES posts (id) ON DELETE CASCADE,
+    registers BYTEA NOT NULL,
+    unique_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
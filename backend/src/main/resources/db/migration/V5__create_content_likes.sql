@@ -0,0 +1,10 @@
+-- Likes of posts (target_type 0) and comments (target_type 1)
+CREATE TABLE content_likes (
+    target_type SMALLINT NOT NULL,
+    target_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (target_type, target_id, user_id)
+);
+
+CREATE INDEX idx_content_likes_user ON content_likes (user_id, target_type);
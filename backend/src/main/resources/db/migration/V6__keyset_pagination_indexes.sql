@@ -0,0 +1,7 @@
+-- Composite indexes matching the (created_at, id) seek predicates of cursor pagination
+CREATE INDEX idx_posts_board_created ON posts (board_id, created_at DESC, id DESC) WHERE is_draft = false;
+CREATE INDEX idx_posts_board_category_created ON posts (board_id, category, created_at DESC, id DESC) WHERE is_draft = false;
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_created ON audit_logs (created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_entity_type_created ON audit_logs (entity_type, created_at DESC, id DESC);
+CREATE INDEX idx_comments_post_created ON comments (post_id, created_at, id);
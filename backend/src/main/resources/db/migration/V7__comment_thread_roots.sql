@@ -0,0 +1,14 @@
+-- Top-level comment of each reply's thread, so a page of threads loads with bounded queries
+ALTER TABLE comments ADD COLUMN root_id BIGINT;
+
+WITH RECURSIVE thread (id, root_id) AS (
+    SELECT id, id FROM comments WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.root_id FROM comments c JOIN thread t ON c.parent_id = t.id
+)
+UPDATE comments c SET root_id = t.root_id
+FROM thread t
+WHERE c.id = t.id AND c.parent_id IS NOT NULL;
+
+CREATE INDEX idx_comments_post_roots ON comments (post_id, created_at, id) WHERE parent_id IS NULL;
+CREATE INDEX idx_comments_root_created ON comments (root_id, created_at, id) WHERE root_id IS NOT NULL;
@@ -0,0 +1,27 @@
+-- post_tags is the only tag storage. Fold in the legacy posts.tags column (comma separated) if present
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name = 'posts' AND column_name = 'tags') THEN
+        INSERT INTO post_tags (post_id, tag)
+        SELECT id, regexp_split_to_table(tags, ',') FROM posts WHERE tags IS NOT NULL AND tags <> '';
+        ALTER TABLE posts DROP COLUMN tags;
+    END IF;
+END $$;
+
+-- Normalize (trimmed, lower case, at most 50 characters) and drop duplicates
+CREATE TEMPORARY TABLE canonical_post_tags AS
+SELECT DISTINCT post_id, left(lower(trim(tag)), 50) AS tag
+FROM post_tags
+WHERE tag IS NOT NULL AND trim(tag) <> '';
+
+DELETE FROM post_tags;
+INSERT INTO post_tags (post_id, tag) SELECT post_id, tag FROM canonical_post_tags;
+DROP TABLE canonical_post_tags;
+
+ALTER TABLE post_tags DROP CONSTRAINT IF EXISTS post_tags_pkey;
+ALTER TABLE post_tags ALTER COLUMN tag TYPE VARCHAR(50);
+ALTER TABLE post_tags ALTER COLUMN tag SET NOT NULL;
+ALTER TABLE post_tags ADD CONSTRAINT post_tags_pkey PRIMARY KEY (post_id, tag);
+
+-- Inverted index: tag -> post ids, answered from the index alone
+CREATE INDEX idx_post_tags_tag_post ON post_tags (tag, post_id);
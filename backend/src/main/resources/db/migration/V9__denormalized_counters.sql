@@ -0,0 +1,28 @@
+-- Counters maintained incrementally by ContentCounterService, so lists and board summaries skip aggregates
+ALTER TABLE posts ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN attachment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE boards ADD COLUMN post_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE board_category_counts (
+    board_id BIGINT NOT NULL REFERENCES boards (id) ON DELETE CASCADE,
+    category VARCHAR(255) NOT NULL,
+    post_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (board_id, category)
+);
+
+UPDATE posts p SET comment_count = c.total
+FROM (SELECT post_id, COUNT(*) AS total FROM comments GROUP BY post_id) c
+WHERE c.post_id = p.id;
+
+UPDATE posts p SET attachment_count = a.total
+FROM (SELECT post_id, COUNT(*) AS total FROM post_attachments GROUP BY post_id) a
+WHERE a.post_id = p.id;
+
+UPDATE boards b SET post_count = p.total
+FROM (SELECT board_id, COUNT(*) AS total FROM posts WHERE is_draft = false GROUP BY board_id) p
+WHERE p.board_id = b.id;
+
+INSERT INTO board_category_counts (board_id, category, post_count)
+SELECT board_id, category, COUNT(*) FROM posts
+WHERE is_draft = false AND category IS NOT NULL AND category <> ''
+GROUP BY board_id, category;
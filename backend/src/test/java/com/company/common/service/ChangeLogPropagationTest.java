@@ -0,0 +1,138 @@
+package com.company.common.service;
+
+import com.company.common.CommonModuleApplication;
+import com.company.common.dto.SystemConfigDto;
+import com.company.common.dto.code.CodeGroupDto;
+import com.company.common.dto.code.CodeItemDto;
+import com.company.common.entity.SystemConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two nodes against one in-memory H2 database and checks that changes written on
+ * node A reach the in-memory state of node B through {@link ChangeLogService#poll}.
+ * Scheduled polling is pushed out of the way so each test decides when node B polls.
+ */
+class ChangeLogPropagationTest {
+    
+    private static final String DATABASE_URL = "jdbc:h2:mem:change-log-propagation;DB_CLOSE_DELAY=-1";
+    
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    
+    @BeforeAll
+    static void startNodes() {
+        // Node A creates the schema, node B joins the existing database
+        nodeA = startNode("create-drop");
+        nodeB = startNode("none");
+    }
+    
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+    
+    @Test
+    void configCreatedOnOneNodeReachesSnapshotOfOtherNode() {
+        nodeA.getBean(SystemConfigService.class).createConfig(config("test.propagation.created", "on A"));
+        
+        SystemConfigService configsB = nodeB.getBean(SystemConfigService.class);
+        assertNull(configsB.getString("test.propagation.created", null));
+        
+        nodeB.getBean(ChangeLogService.class).poll();
+        
+        assertEquals("on A", configsB.getSnapshot().get("test.propagation.created").getValue());
+    }
+    
+    @Test
+    void codeItemCreatedOnOneNodeReachesSearchIndexOfOtherNode() {
+        CodeService codesA = nodeA.getBean(CodeService.class);
+        CodeGroupDto group = codesA.createCodeGroup(CodeGroupDto.builder()
+                .groupCode("PROPAGATION")
+                .groupName("Propagation")
+                .isActive(true)
+                .build());
+        CodeItemDto item = codesA.createCodeItem(CodeItemDto.builder()
+                .groupId(group.getId())
+                .code("ZEPHYR")
+                .codeValue("ZEPHYR")
+                .codeName("Zephyrine")
+                .isActive(true)
+                .build());
+        
+        CodeSearchIndex indexB = nodeB.getBean(CodeSearchIndex.class);
+        assertTrue(indexB.searchIds("zephyrine", "PROPAGATION", 10).isEmpty());
+        
+        nodeB.getBean(ChangeLogService.class).poll();
+        
+        assertEquals(List.of(item.getId()), indexB.searchIds("zephyrine", "PROPAGATION", 10));
+    }
+    
+    @Test
+    void changeCommittedAfterLaterIdIsPickedUpByGapRecheck() {
+        SystemConfigService configsA = nodeA.getBean(SystemConfigService.class);
+        SystemConfigService configsB = nodeB.getBean(SystemConfigService.class);
+        ChangeLogService changeLogB = nodeB.getBean(ChangeLogService.class);
+        PlatformTransactionManager transactionManager =
+                nodeA.getBean("transactionManager", PlatformTransactionManager.class);
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Takes change-log id N, which stays invisible until this transaction commits
+            configsA.createConfig(config("test.propagation.late", "late"));
+            // Takes id N + 1 and commits first
+            CompletableFuture.runAsync(() -> configsA.createConfig(config("test.propagation.early", "early"))).join();
+            
+            changeLogB.poll();
+            
+            assertEquals("early", configsB.getString("test.propagation.early", null));
+            assertNull(configsB.getString("test.propagation.late", null));
+        });
+        
+        // Id N now lies below the poller's position and is only found by re-checking the gap
+        changeLogB.poll();
+        
+        assertEquals("late", configsB.getString("test.propagation.late", null));
+    }
+    
+    private static ConfigurableApplicationContext startNode(String ddlAuto) {
+        return new SpringApplicationBuilder(CommonModuleApplication.class)
+                .profiles("dev")
+                .properties(
+                        "spring.datasource.url=" + DATABASE_URL,
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "spring.jpa.show-sql=false",
+                        "server.port=0",
+                        "app.change-log.transport=polling",
+                        "app.change-log.poll-interval-ms=3600000")
+                .run();
+    }
+    
+    private static SystemConfigDto config(String key, String value) {
+        return SystemConfigDto.builder()
+                .configKey(key)
+                .configValue(value)
+                .category("test")
+                .valueType(SystemConfig.ValueType.STRING)
+                .isActive(true)
+                .isSystem(false)
+                .isEncrypted(false)
+                .build();
+    }
+}
\ No newline at end of file
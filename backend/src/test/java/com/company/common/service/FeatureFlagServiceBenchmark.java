@@ -0,0 +1,135 @@
+package com.company.common.service;
+
+import com.company.common.entity.SystemConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput of {@link FeatureFlagService#isEnabled} on the percentage rollout, role and
+ * allow-list paths. {@link #main} runs it with the GC profiler, whose
+ * {@code gc.alloc.rate.norm} should stay at 0 bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FeatureFlagServiceBenchmark {
+    
+    private static final String[] CALLER_ROLES = {"USER", "BETA"};
+    
+    private FeatureFlagService featureFlagService;
+    // Walks through user ids so every bucket and both allow-list outcomes are hit
+    private long userId;
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FeatureFlagServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+    
+    @Setup
+    public void setUp() {
+        String allowList = LongStream.range(0, 1000).map(i -> i * 2)
+                .mapToObj(Long::toString).collect(Collectors.joining(","));
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(
+                flag("rollout", "{\"percentage\": 25}"),
+                flag("beta", "{\"percentage\": 50, \"roles\": [\"BETA\", \"ADMIN\"]}"),
+                flag("pilot", "{\"percentage\": 0, \"users\": [" + allowList + "]}")), new ObjectMapper());
+        
+        SystemConfigService systemConfigService = mock(SystemConfigService.class);
+        when(systemConfigService.subscribePrefix(eq(FeatureFlagService.FLAG_PREFIX), any())).thenAnswer(invocation -> {
+            Consumer<ConfigSnapshot> listener = invocation.getArgument(1);
+            listener.accept(snapshot);
+            return null;
+        });
+        featureFlagService = new FeatureFlagService(systemConfigService);
+        featureFlagService.initialize();
+        verifyFlags();
+    }
+    
+    @Benchmark
+    public boolean percentage() {
+        return featureFlagService.isEnabled("rollout", nextUserId());
+    }
+    
+    @Benchmark
+    public boolean role() {
+        return featureFlagService.isEnabled("beta", nextUserId(), "BETA");
+    }
+    
+    @Benchmark
+    public boolean roles() {
+        return featureFlagService.isEnabled("beta", nextUserId(), CALLER_ROLES);
+    }
+    
+    @Benchmark
+    public boolean allowList() {
+        return featureFlagService.isEnabled("pilot", nextUserId() % 4000);
+    }
+    
+    /**
+     * Fails the run when the flags did not compile as intended; otherwise every benchmark
+     * would only measure the unknown-flag lookup.
+     */
+    private void verifyFlags() {
+        if (!featureFlagService.getFlagNames().containsAll(Set.of("rollout", "beta", "pilot"))) {
+            throw new IllegalStateException("Flags not compiled: " + featureFlagService.getFlagNames());
+        }
+        int sample = 100_000;
+        int enabled = 0;
+        for (long id = 0; id < sample; id++) {
+            if (featureFlagService.isEnabled("rollout", id)) {
+                enabled++;
+            }
+        }
+        double share = enabled / (double) sample;
+        if (share < 0.24 || share > 0.26) {
+            throw new IllegalStateException("Rollout flag enabled for " + share + " of users instead of 0.25");
+        }
+        if (featureFlagService.isEnabled("beta", 1L, "USER") || !featureFlagService.isEnabled("pilot", 2L)
+                || featureFlagService.isEnabled("pilot", 1L)) {
+            throw new IllegalStateException("Role or allow-list flag evaluated incorrectly");
+        }
+    }
+    
+    private long nextUserId() {
+        return userId++;
+    }
+    
+    private static SystemConfig flag(String name, String rule) {
+        return SystemConfig.builder()
+                .configKey(FeatureFlagService.FLAG_PREFIX + name)
+                .configValue(rule)
+                .valueType(SystemConfig.ValueType.JSON)
+                .isActive(true)
+                .build();
+    }
+}
\ No newline at end of file